@@ -0,0 +1,75 @@
+package com.visa.management.benchmarks;
+
+import com.visa.management.database.SchemaMigrator;
+import com.visa.management.debug.GeneratedData;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Generated databases for the benchmarks, filled by GeneratedData. A database is generated once per
+ * size, schema version and GeneratedData.VERSION under visa.bench.dataDir (default target/bench-data);
+ * each trial works on its own copy, so write benchmarks never change the template.
+ */
+public final class BenchmarkData {
+
+    private static final Path DATA_DIR = Paths.get(System.getProperty("visa.bench.dataDir", "target/bench-data"));
+
+    private BenchmarkData() {
+    }
+
+    // Where copyFor puts the trial's database; does not load any application classes
+    public static Path trialFile(int applicants, String trial) {
+        return DATA_DIR.resolve("trial-" + trial + "-" + applicants + ".db").toAbsolutePath();
+    }
+
+    // A private copy of the generated database with the given number of applicants
+    public static Path copyFor(int applicants, String trial) throws IOException, SQLException {
+        Path template = template(applicants);
+        Path copy = trialFile(applicants, trial);
+        Files.copy(template, copy, StandardCopyOption.REPLACE_EXISTING);
+        Files.deleteIfExists(Paths.get(copy + "-wal"));
+        Files.deleteIfExists(Paths.get(copy + "-shm"));
+        return copy;
+    }
+
+    static synchronized Path template(int applicants) throws IOException, SQLException {
+        Files.createDirectories(DATA_DIR);
+        Path template = DATA_DIR.resolve("applicants-" + applicants + "-v" + SchemaMigrator.latestVersion() +
+                "-g" + GeneratedData.VERSION + ".db");
+        if (Files.exists(template)) {
+            return template;
+        }
+
+        Path partial = DATA_DIR.resolve(template.getFileName() + ".partial");
+        Files.deleteIfExists(partial);
+        long start = System.nanoTime();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + partial.toAbsolutePath())) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA synchronous = OFF");
+            }
+            SchemaMigrator.migrate(conn, 1);
+            GeneratedData.populate(conn, applicants);
+            SchemaMigrator.migrate(conn);
+            try (Statement stmt = conn.createStatement()) {
+                // New applications continue after the generated ones
+                stmt.execute("UPDATE id_sequences SET next_value = " + applicants + " WHERE name = 'application_id'");
+                stmt.execute("ANALYZE");
+                stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+                stmt.execute("PRAGMA journal_mode = DELETE");
+            }
+        }
+        Files.move(partial, template, StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("Generated %,d applicants in %.1f s: %s%n",
+                applicants, (System.nanoTime() - start) / 1e9, template.toAbsolutePath());
+        return template;
+    }
+}
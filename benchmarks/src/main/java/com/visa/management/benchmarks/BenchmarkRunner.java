@@ -0,0 +1,53 @@
+package com.visa.management.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options; unless -rf/-rff are given, results are
+ * also written as JSON to jmh-results/<version>-<timestamp>.json so runs of different releases can be
+ * compared (e.g. with a JMH result visualizer).
+ *
+ * Examples:
+ *   java -jar benchmarks/target/benchmarks.jar                          all benchmarks, all sizes
+ *   java -jar benchmarks/target/benchmarks.jar Read -p applicants=100000  read benchmarks, one size
+ *   java -jar benchmarks/target/benchmarks.jar -l                       list the benchmarks
+ *
+ * Generated databases are kept in target/bench-data (visa.bench.dataDir); the one with 1,000,000
+ * applicants takes a few minutes to build the first time.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue() && !commandLine.getResult().hasValue()) {
+            Path results = Paths.get("jmh-results");
+            Files.createDirectories(results);
+            String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Path file = results.resolve((version != null ? version : "dev") + "-" + timestamp + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(file.toString());
+            System.out.println("Results will be written to " + file.toAbsolutePath());
+        }
+        new Runner(options.build()).run();
+    }
+}
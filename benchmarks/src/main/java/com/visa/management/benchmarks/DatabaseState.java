@@ -0,0 +1,54 @@
+package com.visa.management.benchmarks;
+
+import com.visa.management.database.DatabaseManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The DatabaseManager under test, opened on a private copy of a generated database. DatabaseManager is a
+ * per-process singleton reading visa.db.file once, so every trial needs its own forked JVM.
+ */
+@State(Scope.Benchmark)
+public class DatabaseState {
+
+    @Param({"10000", "100000", "1000000"})
+    public int applicants;
+
+    DatabaseManager db;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void open() throws Exception {
+        String trial = String.valueOf(ProcessHandle.current().pid());
+        file = BenchmarkData.trialFile(applicants, trial);
+        // Must be set before anything loads the DatabaseManager class, which generating the data does
+        System.setProperty("visa.db.file", file.toString());
+        BenchmarkData.copyFor(applicants, trial);
+        if (DatabaseManager.getInstanceIfOpen() != null) {
+            throw new IllegalStateException("DatabaseManager is already open in this JVM; run with at least one fork");
+        }
+        db = DatabaseManager.getInstance();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() throws Exception {
+        db.shutdown();
+        for (String suffix : new String[] {"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Paths.get(file + suffix));
+        }
+    }
+
+    // A random generated applicant
+    int randomApplicant() {
+        return ThreadLocalRandom.current().nextInt(applicants);
+    }
+}
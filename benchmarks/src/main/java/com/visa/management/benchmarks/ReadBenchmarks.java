@@ -0,0 +1,61 @@
+package com.visa.management.benchmarks;
+
+import com.visa.management.database.ApplicationPager;
+import com.visa.management.database.DatabaseManager;
+import com.visa.management.debug.GeneratedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups behind the login, dashboard, history and inbox screens.
+ * Throughput and sampled latency (with percentiles) are measured for each.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dvisa.applicationId.scramble=false", "-Dvisa.log.level=WARN"})
+public class ReadBenchmarks {
+
+    private static final int INBOX_PAGE_SIZE = 50;
+
+    // Applicant login: one indexed lookup plus the password hash
+    @Benchmark
+    public DatabaseManager.Applicant verifyApplicant(DatabaseState state) {
+        return state.db.verifyApplicant(GeneratedData.applicationId(state.randomApplicant()), GeneratedData.PASSWORD);
+    }
+
+    // First page of an admin's application list, as the dashboard loads it (replaces loadApplications)
+    @Benchmark
+    public List<String> countryApplicationsPage(DatabaseState state) {
+        ApplicationPager<String> pager = new ApplicationPager<>(GeneratedData.country(state.randomApplicant()), null,
+                ApplicationPager.DEFAULT_PAGE_SIZE, rs -> rs.getString("application_id"));
+        try {
+            return pager.nextPage().join();
+        } finally {
+            pager.close();
+        }
+    }
+
+    @Benchmark
+    public List<DatabaseManager.TravelHistory> travelHistory(DatabaseState state) {
+        int i = state.randomApplicant();
+        return state.db.getTravelHistory(GeneratedData.nationalId(i), GeneratedData.passport(i),
+                GeneratedData.nationality(i));
+    }
+
+    // Newest messages for a country (replaces getAllMessagesForCountry)
+    @Benchmark
+    public List<DatabaseManager.ApplicantMessage> inboxPage(DatabaseState state) throws SQLException {
+        return state.db.getInboxPage(GeneratedData.country(state.randomApplicant()), null, INBOX_PAGE_SIZE);
+    }
+}
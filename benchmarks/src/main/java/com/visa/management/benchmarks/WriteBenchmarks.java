@@ -0,0 +1,138 @@
+package com.visa.management.benchmarks;
+
+import com.visa.management.database.ApplicationSubmission;
+import com.visa.management.database.DatabaseManager;
+import com.visa.management.debug.GeneratedData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Committed writes: a new application with its visa details, and an admin decision.
+ * Each commit goes through the triggers that keep the search index, history and counters current.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Dvisa.applicationId.scramble=false", "-Dvisa.log.level=WARN"})
+public class WriteBenchmarks {
+
+    // Replaces createApplicant plus the separate visa detail inserts
+    @Benchmark
+    public DatabaseManager.ApplicationCredentials submitApplication(DatabaseState state, Submissions submissions)
+            throws SQLException {
+        return state.db.submitApplication(submissions.next());
+    }
+
+    // Replaces updateApplicationStatus: an admin approves or rejects an application that is still Processing
+    @Benchmark
+    public DatabaseManager.StatusTransitionResult transitionStatus(DatabaseState state, OpenApplications open)
+            throws SQLException {
+        int i = open.next();
+        return i % 2 == 0
+                ? state.db.transitionStatus(GeneratedData.applicationId(i), "Processing", "Approved", "90 days", "admin_bench")
+                : state.db.transitionStatus(GeneratedData.applicationId(i), "Processing", "Rejected", null, "admin_bench");
+    }
+
+    // New applicants that do not clash with the generated ones
+    @State(Scope.Benchmark)
+    public static class Submissions {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        ApplicationSubmission next() {
+            int n = counter.incrementAndGet();
+            Map<String, String> details = new LinkedHashMap<>();
+            details.put("touristPlace", "Old town and museums");
+            details.put("hotelPnr", "PNR" + n);
+            details.put("flightNo", "BG" + (n % 1000));
+            details.put("journeyDate", "2026-12-01");
+            details.put("bankName", "Bench Bank");
+            details.put("accountNumber", String.valueOf(4_000_000_000L + n));
+            return new ApplicationSubmission("Bench", "Applicant" + n, String.valueOf(9_000_000_000L + n), "Nepal",
+                    "B" + (10_000_000 + n), "bench" + n + "@example.com", "+977" + n, "Kathmandu",
+                    GeneratedData.country(n), "Tourist Visa", details, List.of());
+        }
+    }
+
+    /**
+     * Generated applications that are still Processing, in random order. Each decision uses one up; once
+     * they are all decided they are put back to Processing outside the measured time, so the benchmark
+     * only ever times the Processing -> Approved/Rejected moves an admin can make. Reopening happens when
+     * the pool runs dry rather than per iteration, since one iteration can decide more applications than
+     * the smaller databases have. Only valid with a single benchmark thread.
+     */
+    @State(Scope.Benchmark)
+    public static class OpenApplications {
+        private int[] pool;
+        private int remaining;
+
+        @Setup(Level.Trial)
+        public void load(DatabaseState state) {
+            pool = IntStream.range(0, state.applicants)
+                    .filter(i -> "Processing".equals(GeneratedData.status(i)))
+                    .toArray();
+            shuffle();
+        }
+
+        // Cheap unless the pool is empty
+        @Setup(Level.Invocation)
+        public void refill(DatabaseState state) throws SQLException {
+            if (remaining == 0) {
+                reopen(state.db);
+                shuffle();
+            }
+        }
+
+        int next() {
+            return pool[--remaining];
+        }
+
+        // There is no API for undoing a decision, so this goes straight to the table. The pre-check index
+        // is not told, which only matters for submissions and this fork makes none.
+        private void reopen(DatabaseManager db) throws SQLException {
+            String ids = Arrays.stream(pool)
+                    .mapToObj(i -> "\"" + GeneratedData.applicationId(i) + "\"")
+                    .collect(Collectors.joining(",", "[", "]"));
+            try (Connection conn = db.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(
+                     "UPDATE applicants SET status = 'Processing', visa_duration = NULL, approved_by = NULL, " +
+                     "approval_date = NULL WHERE application_id IN (SELECT value FROM json_each(?))")) {
+                stmt.setString(1, ids);
+                stmt.executeUpdate();
+            }
+        }
+
+        private void shuffle() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = pool.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = pool[i];
+                pool[i] = pool[j];
+                pool[j] = swap;
+            }
+            remaining = pool.length;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.visa.management;
+
+import com.visa.management.controllers.Resettable;
+import com.visa.management.logging.Logger;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Switches the primary stage between screens. The public screens (home, login, the application
+ * wizard and status check) are parsed once and their scenes reused; their controllers implement
+ * Resettable so each visit starts clean. They are preloaded on a background thread after startup
+ * (disable with -Dvisa.ui.preload=false), so the first visit does not pay for parsing either.
+ * Dashboards and details hold per-login state and are loaded fresh on every visit.
+ * Every load is logged with the time it took.
+ */
+public class SceneNavigator {
+    private static final Logger LOG = Logger.get(SceneNavigator.class);
+
+    private static final String STYLESHEET = "/css/styles.css";
+    private static final boolean PRELOAD = Boolean.parseBoolean(System.getProperty("visa.ui.preload", "true"));
+
+    // Screens whose controllers are Resettable, in the order they are usually reached
+    static final List<String> CACHED_SCENES = List.of(
+        "/fxml/home.fxml",
+        "/fxml/select-country.fxml",
+        "/fxml/select-visa-type.fxml",
+        "/fxml/apply-visa.fxml",
+        "/fxml/login.fxml",
+        "/fxml/check-status.fxml"
+    );
+
+    private final Stage stage;
+    // A future that is not yet done is being loaded, either by the preload thread or by show()
+    private final Map<String, CompletableFuture<LoadedScene>> cache = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();
+    private long reuses;
+
+    public SceneNavigator(Stage stage) {
+        this.stage = stage;
+    }
+
+    // Parse the cached screens in the background; screens already loaded are skipped
+    public void preload() {
+        if (!PRELOAD) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            for (String fxmlPath : CACHED_SCENES) {
+                CompletableFuture<LoadedScene> future = new CompletableFuture<>();
+                if (cache.putIfAbsent(fxmlPath, future) == null) {
+                    complete(fxmlPath, future, true);
+                }
+            }
+        }, "scene-preload");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Show the screen and return its controller, or null if it could not be loaded. JavaFX thread only.
+    public <T> T show(String fxmlPath, String title) {
+        LOG.debug(() -> "Changing scene to " + fxmlPath + " (" + title + ")");
+        LoadedScene loaded;
+        try {
+            loaded = CACHED_SCENES.contains(fxmlPath) ? cached(fxmlPath) : load(fxmlPath, "loaded");
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Failed to load scene " + fxmlPath, e);
+            return null;
+        }
+
+        boolean wasShowing = stage.isShowing();
+        boolean wasMaximized = stage.isMaximized();
+        double currentWidth = stage.getWidth();
+        double currentHeight = stage.getHeight();
+
+        if (loaded.scene == null) {
+            loaded.scene = new Scene(loaded.root);
+            loaded.scene.getStylesheets().add(SceneNavigator.class.getResource(STYLESHEET).toExternalForm());
+        }
+        if (loaded.controller instanceof Resettable resettable) {
+            resettable.reset();
+        }
+
+        stage.setTitle(title);
+        stage.setScene(loaded.scene);
+
+        // Maintain window state (the first screen is sized by the caller)
+        if (wasShowing && wasMaximized) {
+            stage.setMaximized(true);
+        } else if (wasShowing) {
+            stage.setWidth(currentWidth);
+            stage.setHeight(currentHeight);
+            stage.centerOnScreen();
+        }
+
+        @SuppressWarnings("unchecked")
+        T controller = (T) loaded.controller;
+        return controller;
+    }
+
+    private LoadedScene cached(String fxmlPath) throws IOException {
+        CompletableFuture<LoadedScene> future = new CompletableFuture<>();
+        CompletableFuture<LoadedScene> existing = cache.putIfAbsent(fxmlPath, future);
+        if (existing == null) {
+            complete(fxmlPath, future, false);
+            existing = future;
+        } else if (existing.isDone()) {
+            reuses++;
+            LOG.debug(() -> "Reusing cached scene " + fxmlPath);
+        }
+        try {
+            // Waits at most for the one load the preload thread is in the middle of
+            return existing.join();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw e;
+        }
+    }
+
+    private void complete(String fxmlPath, CompletableFuture<LoadedScene> future, boolean preloading) {
+        try {
+            future.complete(load(fxmlPath, preloading ? "preloaded" : "loaded"));
+        } catch (IOException | RuntimeException e) {
+            // Forget the failure so the next visit tries again
+            cache.remove(fxmlPath, future);
+            future.completeExceptionally(e);
+            if (preloading) {
+                LOG.warn("Could not preload " + fxmlPath, e);
+            }
+        }
+    }
+
+    private LoadedScene load(String fxmlPath, String how) throws IOException {
+        long start = System.nanoTime();
+        var resource = SceneNavigator.class.getResource(fxmlPath);
+        if (resource == null) {
+            throw new IOException("No such screen: " + fxmlPath);
+        }
+        FXMLLoader fxmlLoader = new FXMLLoader(resource);
+        Parent root = fxmlLoader.load();
+        long elapsed = System.nanoTime() - start;
+        String thread = Thread.currentThread().getName();
+        loads.incrementAndGet();
+        loadNanos.addAndGet(elapsed);
+        LOG.info(() -> String.format("Scene %s %s in %.1f ms (%s)",
+                fxmlPath, how, elapsed / 1_000_000.0, thread));
+        return new LoadedScene(root, fxmlLoader.getController());
+    }
+
+    @Override
+    public String toString() {
+        long done = cache.values().stream().filter(f -> f.isDone() && !f.isCompletedExceptionally()).count();
+        return String.format("scenes cached=%d, loads=%d (%.1f ms total), reuses=%d",
+                done, loads.get(), loadNanos.get() / 1_000_000.0, reuses);
+    }
+
+    private static class LoadedScene {
+        private final Parent root;
+        private final Object controller;
+        // Created on the JavaFX thread the first time the screen is shown
+        private Scene scene;
+
+        LoadedScene(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+}
@@ -1,123 +1,120 @@
 package com.visa.management;
 
+import com.visa.management.database.DatabaseExecutor;
+import com.visa.management.database.DatabaseManager;
+import com.visa.management.logging.Logger;
+import com.visa.management.logging.PhaseTimer;
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.image.Image;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-
-import java.io.IOException;
+import javafx.stage.StageStyle;
 
 /**
  * Main Application Entry Point for Visa Management System
  */
 public class VisaManagementApp extends Application {
+    private static final Logger LOG = Logger.get(VisaManagementApp.class);
 
     private static Stage primaryStage;
+    private static SceneNavigator navigator;
 
     @Override
-    public void start(Stage stage) throws IOException {
+    public void start(Stage stage) {
         primaryStage = stage;
+        navigator = new SceneNavigator(stage);
+        PhaseTimer startup = new PhaseTimer(LOG, "Application startup");
         
-        // Load the home/dashboard screen
-        FXMLLoader fxmlLoader = new FXMLLoader(VisaManagementApp.class.getResource("/fxml/home.fxml"));
-        Scene scene = new Scene(fxmlLoader.load());
+        Stage splash = showSplash();
+        startup.mark("splash");
         
-        // Add stylesheet
-        scene.getStylesheets().add(getClass().getResource("/css/styles.css").toExternalForm());
+        // Parse the common screens while the database opens
+        navigator.preload();
+        
+        // Schema upgrades and seeding can take a while on first run; keep them off the JavaFX thread
+        DatabaseExecutor.submit(DatabaseManager::getInstance).whenComplete((db, error) -> Platform.runLater(() -> {
+            startup.mark("database");
+            if (error != null) {
+                LOG.error("Could not open the database", error);
+                Alert alert = new Alert(Alert.AlertType.ERROR);
+                alert.setTitle("Startup Failed");
+                alert.setHeaderText("The database could not be opened");
+                alert.setContentText(error.getMessage());
+                alert.showAndWait();
+                Platform.exit();
+                return;
+            }
+            // Show the main window before closing the splash, or JavaFX would exit with no window open
+            showHome();
+            splash.close();
+            startup.mark("home");
+            startup.finish();
+        }));
+    }
+    
+    private void showHome() {
+        // Load the home/dashboard screen
+        navigator.show("/fxml/home.fxml", "Visa Management & Processing System");
         
-        primaryStage.setTitle("Visa Management & Processing System");
-        primaryStage.setScene(scene);
         primaryStage.setMinWidth(1024);
         primaryStage.setMinHeight(768);
         primaryStage.setMaximized(true);  // Open maximized to full screen
         primaryStage.centerOnScreen();
         primaryStage.show();
     }
+    
+    // Small undecorated window shown until the database is ready
+    private Stage showSplash() {
+        Label title = new Label("Visa Management & Processing System");
+        title.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
+        Label status = new Label("Opening database...");
+        status.setStyle("-fx-text-fill: #7f8c8d;");
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setMaxSize(40, 40);
+        
+        VBox content = new VBox(16, title, progress, status);
+        content.setAlignment(Pos.CENTER);
+        content.setPadding(new Insets(30));
+        content.setStyle("-fx-background-color: white; -fx-border-color: #dfe6e9;");
+        
+        Stage splash = new Stage(StageStyle.UNDECORATED);
+        splash.setTitle("Visa Management & Processing System");
+        splash.setScene(new Scene(content, 440, 220));
+        splash.centerOnScreen();
+        splash.show();
+        return splash;
+    }
+
+    @Override
+    public void stop() {
+        LOG.info(() -> "Navigation: " + navigator);
+        // Release pooled database connections on exit, then flush the log
+        DatabaseManager db = DatabaseManager.getInstanceIfOpen();
+        if (db != null) {
+            db.shutdown();
+        }
+        Logger.shutdown();
+    }
 
     public static Stage getPrimaryStage() {
         return primaryStage;
     }
 
     public static void changeScene(String fxmlPath, String title) {
-        try {
-            boolean wasMaximized = primaryStage.isMaximized();
-            double currentWidth = primaryStage.getWidth();
-            double currentHeight = primaryStage.getHeight();
-            
-            FXMLLoader fxmlLoader = new FXMLLoader(VisaManagementApp.class.getResource(fxmlPath));
-            Scene scene = new Scene(fxmlLoader.load());
-            scene.getStylesheets().add(VisaManagementApp.class.getResource("/css/styles.css").toExternalForm());
-            
-            primaryStage.setTitle(title);
-            primaryStage.setScene(scene);
-            
-            // Maintain window state
-            if (wasMaximized) {
-                primaryStage.setMaximized(true);
-            } else {
-                primaryStage.setWidth(currentWidth);
-                primaryStage.setHeight(currentHeight);
-                primaryStage.centerOnScreen();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        navigator.show(fxmlPath, title);
     }
 
     public static <T> T changeSceneWithController(String fxmlPath, String title) {
-        System.out.println("\n╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║         CHANGING SCENE WITH CONTROLLER                     ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
-        System.out.println("FXML Path: " + fxmlPath);
-        System.out.println("Title: " + title);
-        
-        try {
-            boolean wasMaximized = primaryStage.isMaximized();
-            double currentWidth = primaryStage.getWidth();
-            double currentHeight = primaryStage.getHeight();
-            
-            System.out.println("Loading FXML...");
-            
-            FXMLLoader fxmlLoader = new FXMLLoader(VisaManagementApp.class.getResource(fxmlPath));
-            System.out.println("FXML Loader created");
-            
-            Scene scene = new Scene(fxmlLoader.load());
-            System.out.println("Scene loaded");
-            
-            scene.getStylesheets().add(VisaManagementApp.class.getResource("/css/styles.css").toExternalForm());
-            System.out.println("Stylesheet added");
-            
-            primaryStage.setTitle(title);
-            primaryStage.setScene(scene);
-            
-            // Maintain window state
-            if (wasMaximized) {
-                primaryStage.setMaximized(true);
-            } else {
-                primaryStage.setWidth(currentWidth);
-                primaryStage.setHeight(currentHeight);
-                primaryStage.centerOnScreen();
-            }
-            
-            System.out.println("Scene set to stage");
-            
-            T controller = fxmlLoader.getController();
-            System.out.println("Controller retrieved: " + (controller != null ? controller.getClass().getSimpleName() : "NULL"));
-            System.out.println("╚════════════════════════════════════════════════════════════╝\n");
-            
-            return controller;
-        } catch (IOException e) {
-            System.err.println("!!! FATAL ERROR LOADING SCENE !!!");
-            System.err.println("Error: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        } catch (Exception e) {
-            System.err.println("!!! UNEXPECTED ERROR !!!");
-            System.err.println("Error: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
+        T controller = navigator.show(fxmlPath, title);
+        LOG.debug(() -> "Controller retrieved: " + (controller != null ? controller.getClass().getSimpleName() : "NULL"));
+        return controller;
     }
 
     public static void main(String[] args) {
@@ -1,8 +1,17 @@
 package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
+import com.visa.management.database.ApplicationPager;
+import com.visa.management.database.ChangeWatchService;
+import com.visa.management.database.DatabaseExecutor;
 import com.visa.management.database.DatabaseManager;
+import com.visa.management.database.StatisticsService;
+import com.visa.management.logging.Logger;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -13,15 +22,24 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.geometry.Insets;
 import javafx.scene.layout.Priority;
+import javafx.util.Duration;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Optional;
 import java.util.List;
 
 public class AdminDashboardController {
+    private static final Logger LOG = Logger.get(AdminDashboardController.class);
+    
+    // Rows from the end of the table at which the next page is requested
+    private static final int PAGE_LOAD_THRESHOLD = 20;
+    
+    // Typing pause before a search is run
+    private static final Duration SEARCH_DELAY = Duration.millis(250);
+    
+    // Messages fetched per inbox page
+    private static final int INBOX_PAGE_SIZE = 50;
     
     @FXML private Label adminLabel;
     @FXML private Label countryLabel;
@@ -30,6 +48,7 @@ public class AdminDashboardController {
     @FXML private Label approvedLabel;
     @FXML private Label rejectedLabel;
     @FXML private ComboBox<String> statusFilter;
+    @FXML private TextField searchField;
     @FXML private TableView<ApplicationData> applicationsTable;
     @FXML private TableColumn<ApplicationData, String> applicationIdColumn;
     @FXML private TableColumn<ApplicationData, String> applicantNameColumn;
@@ -38,10 +57,30 @@ public class AdminDashboardController {
     @FXML private TableColumn<ApplicationData, String> statusColumn;
     @FXML private TableColumn<ApplicationData, String> dateColumn;
     @FXML private TableColumn<ApplicationData, Void> actionsColumn;
+    @FXML private ProgressIndicator loadingIndicator;
+    @FXML private Label unreadBadge;
     
     private String adminCountry;
     private String adminUsername;
     
+    // Background loaders; a new load cancels the one still in flight
+    private FxRequest<List<ApplicationData>> applicationsRequest;
+    private FxRequest<List<ApplicationData>> pageRequest;
+    private ApplicationPager<ApplicationData> pager;
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DELAY);
+    private final Label emptyTablePlaceholder = new Label("No applications");
+    
+    // Last counts shown; patched in place as status changes arrive
+    private StatisticsService.StatusCounts statusCounts;
+    private final DatabaseManager.StatusChangeListener statusListener =
+        change -> Platform.runLater(() -> applyStatusChange(change));
+    private FxRequest<StatisticsService.StatusCounts> statisticsRequest;
+    // Re-queries only after something was committed
+    private final ChangeWatchService.ChangeListener changeListener =
+        () -> Platform.runLater(this::refreshAfterChange);
+    private FxRequest<Integer> unreadRequest;
+    private FxRequest<DatabaseManager.PersonHistory> historyRequest;
+    
     @FXML
     public void initialize() {
         // Get admin info from session
@@ -53,13 +92,31 @@ public class AdminDashboardController {
         adminLabel.setText("Admin: " + adminUsername);
         countryLabel.setText("Managing Applications for: " + adminCountry);
         
+        applicationsRequest = new FxRequest<>(loadingIndicator);
+        pageRequest = new FxRequest<>(loadingIndicator);
+        statisticsRequest = new FxRequest<>();
+        unreadRequest = new FxRequest<>();
+        historyRequest = new FxRequest<>();
+        
         // Setup table columns
-        applicationIdColumn.setCellValueFactory(data -> data.getValue().applicationIdProperty());
-        applicantNameColumn.setCellValueFactory(data -> data.getValue().applicantNameProperty());
-        visaTypeColumn.setCellValueFactory(data -> data.getValue().visaTypeProperty());
-        nationalityColumn.setCellValueFactory(data -> data.getValue().nationalityProperty());
+        // Only status can change, so the other columns wrap plain strings for the visible cells only
+        applicationIdColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getApplicationId()));
+        applicantNameColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getApplicantName()));
+        visaTypeColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getVisaType()));
+        nationalityColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getNationality()));
         statusColumn.setCellValueFactory(data -> data.getValue().statusProperty());
-        dateColumn.setCellValueFactory(data -> data.getValue().dateProperty());
+        dateColumn.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getDate()));
+        
+        // Fetch the next page once the last rows of the current one come into view
+        applicationsTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(ApplicationData item, boolean empty) {
+                super.updateItem(item, empty);
+                if (!empty && getIndex() >= table.getItems().size() - PAGE_LOAD_THRESHOLD) {
+                    loadNextPage();
+                }
+            }
+        });
         
         // Setup actions column
         actionsColumn.setCellFactory(param -> new TableCell<>() {
@@ -69,7 +126,6 @@ public class AdminDashboardController {
             private final HBox buttons = new HBox(5, viewBtn, approveBtn, rejectBtn);
             
             {
-                System.out.println("Creating action buttons for table cell...");
                 approveBtn.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 10;");
                 rejectBtn.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 10;");
                 viewBtn.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 10;");
@@ -87,13 +143,10 @@ public class AdminDashboardController {
                 
                 viewBtn.setOnAction(event -> {
                     try {
-                        System.out.println("\n>>> VIEW BUTTON CLICKED IN TABLE <<<");
                         ApplicationData app = getTableView().getItems().get(getIndex());
-                        System.out.println(">>> App data retrieved: " + app.getApplicationId());
                         handleView(app);
                     } catch (Exception e) {
-                        System.err.println("!!! ERROR IN VIEW BUTTON HANDLER !!!");
-                        e.printStackTrace();
+                        LOG.error("Error in view button handler", e);
                     }
                 });
             }
@@ -101,21 +154,20 @@ public class AdminDashboardController {
             @Override
             protected void updateItem(Void item, boolean empty) {
                 super.updateItem(item, empty);
+                approveBtn.disableProperty().unbind();
+                rejectBtn.disableProperty().unbind();
                 if (empty) {
                     setGraphic(null);
                 } else {
                     ApplicationData app = getTableView().getItems().get(getIndex());
-                    System.out.println("Rendering buttons for: " + app.getApplicationId() + " (Status: " + app.getStatus() + ")");
+                    LOG.trace(() -> "Rendering buttons for: " + app.getApplicationId() + " (Status: " + app.getStatus() + ")");
                     
-                    if ("Approved".equals(app.getStatus()) || "Rejected".equals(app.getStatus())) {
-                        approveBtn.setDisable(true);
-                        rejectBtn.setDisable(true);
-                    } else {
-                        approveBtn.setDisable(false);
-                        rejectBtn.setDisable(false);
-                    }
+                    // Follows the row's status, so a decision disables the buttons without a reload
+                    BooleanBinding decided = app.statusProperty().isEqualTo("Approved")
+                        .or(app.statusProperty().isEqualTo("Rejected"));
+                    approveBtn.disableProperty().bind(decided);
+                    rejectBtn.disableProperty().bind(decided);
                     setGraphic(buttons);
-                    System.out.println("Buttons rendered and visible");
                 }
             }
         });
@@ -125,118 +177,190 @@ public class AdminDashboardController {
         statusFilter.setValue("All");
         statusFilter.setOnAction(event -> loadApplications());
         
+        // Search as the admin types, once they pause
+        applicationsTable.setPlaceholder(emptyTablePlaceholder);
+        searchDelay.setOnFinished(event -> loadApplications());
+        searchField.textProperty().addListener((obs, old, text) -> searchDelay.playFromStart());
+        searchField.setOnAction(event -> {
+            searchDelay.stop();
+            loadApplications();
+        });
+        
+        // Approvals and rejections are patched into the loaded rows as they are committed
+        DatabaseManager.getInstance().addStatusChangeListener(statusListener);
+        DatabaseManager.getInstance().getChangeWatchService().addListener(changeListener);
+        
         // Load data
         loadApplications();
         updateStatistics();
+        updateUnreadBadge();
     }
     
     private void loadApplications() {
-        System.out.println("\n📋 ========== LOADING APPLICATIONS ==========");
-        System.out.println("Country: " + adminCountry);
-        System.out.println("Filter: " + statusFilter.getValue());
-        
-        ObservableList<ApplicationData> applications = FXCollections.observableArrayList();
-        
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        String query = "SELECT application_id, first_name, last_name, visa_type, nationality, status, created_at " +
-                       "FROM applicants WHERE country = ?";
-        
         String filterStatus = statusFilter.getValue();
-        if (filterStatus != null && !"All".equals(filterStatus)) {
-            query += " AND status = ?";
-        }
-        query += " ORDER BY created_at DESC";
+        String search = searchField.getText();
+        LOG.debug(() -> "Loading applications for " + adminCountry + " (filter: " + filterStatus +
+                        (search == null || search.isBlank() ? "" : ", search: " + search) + ")");
         
-        System.out.println("SQL Query: " + query);
+        // Start over from the first page with the current filter and search
+        if (pager != null) {
+            pager.close();
+        }
+        pageRequest.cancel();
+        ApplicationPager<ApplicationData> newPager = new ApplicationPager<>(
+            adminCountry, filterStatus, search, ApplicationPager.DEFAULT_PAGE_SIZE, AdminDashboardController::mapApplication);
+        pager = newPager;
+        if (search == null || search.isBlank()) {
+            emptyTablePlaceholder.setText("No applications");
+        } else if (newPager.isExhausted()) {
+            emptyTablePlaceholder.setText("Search terms need at least " + ApplicationPager.MIN_SEARCH_TERM + " characters");
+        } else {
+            emptyTablePlaceholder.setText("No applications match \"" + search.trim() + "\"");
+        }
         
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(query)) {
-            
-            stmt.setString(1, adminCountry);
-            if (filterStatus != null && !"All".equals(filterStatus)) {
-                stmt.setString(2, filterStatus);
-            }
-            
-            ResultSet rs = stmt.executeQuery();
-            int count = 0;
-            while (rs.next()) {
-                count++;
-                String appId = rs.getString("application_id");
-                String status = rs.getString("status");
-                String name = rs.getString("first_name") + " " + rs.getString("last_name");
-                
-                applications.add(new ApplicationData(
-                    appId,
-                    name,
-                    rs.getString("visa_type"),
-                    rs.getString("nationality"),
-                    status,
-                    rs.getString("created_at")
-                ));
-                
-                System.out.println("[" + count + "] " + appId + " | " + name + " | Status: " + status);
-            }
-            
-            System.out.println("\n✓ Total applications loaded: " + count);
-            System.out.println("===========================================\n");
-            
-        } catch (SQLException e) {
-            System.err.println("✗ ERROR loading applications: " + e.getMessage());
-            e.printStackTrace();
-            showError("Failed to load applications: " + e.getMessage());
+        applicationsRequest.submit(
+            () -> newPager.nextPage().join(),
+            applications -> {
+                // Use setAll() to properly update existing observable list and trigger cell updates
+                applicationsTable.getItems().setAll(applications);
+                LOG.debug(() -> "Table updated with " + applications.size() + " items");
+            },
+            e -> {
+                LOG.error("Error loading applications", e);
+                showError("Failed to load applications: " + e.getMessage());
+            });
+    }
+    
+    // Called as rows near the end of the table are shown
+    private void loadNextPage() {
+        ApplicationPager<ApplicationData> current = pager;
+        if (current == null || current.isExhausted() || applicationsRequest.isRunning() || pageRequest.isRunning()) {
+            return;
         }
         
-        // Use setAll() to properly update existing observable list and trigger cell updates
-        applicationsTable.getItems().setAll(applications);
-        System.out.println("Table updated with " + applications.size() + " items\n");
+        pageRequest.submit(
+            () -> current.nextPage().join(),
+            applications -> {
+                applicationsTable.getItems().addAll(applications);
+                LOG.debug(() -> "Loaded " + applications.size() + " more applications (" +
+                                applicationsTable.getItems().size() + " shown)");
+            },
+            e -> showError("Failed to load more applications: " + e.getMessage()));
+    }
+    
+    private static ApplicationData mapApplication(ResultSet rs) throws SQLException {
+        return new ApplicationData(
+            rs.getString("application_id"),
+            rs.getString("first_name") + " " + rs.getString("last_name"),
+            rs.getString("visa_type"),
+            rs.getString("nationality"),
+            rs.getString("status"),
+            rs.getString("created_at")
+        );
     }
     
     private void updateStatistics() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        
-        try (Connection conn = dbManager.getConnection()) {
-            // Total applications
-            String totalQuery = "SELECT COUNT(*) FROM applicants WHERE country = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(totalQuery)) {
-                stmt.setString(1, adminCountry);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    totalApplicationsLabel.setText(String.valueOf(rs.getInt(1)));
-                }
-            }
-            
-            // Processing
-            String processingQuery = "SELECT COUNT(*) FROM applicants WHERE country = ? AND status = 'Processing'";
-            try (PreparedStatement stmt = conn.prepareStatement(processingQuery)) {
-                stmt.setString(1, adminCountry);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    processingLabel.setText(String.valueOf(rs.getInt(1)));
-                }
-            }
-            
-            // Approved
-            String approvedQuery = "SELECT COUNT(*) FROM applicants WHERE country = ? AND status = 'Approved'";
-            try (PreparedStatement stmt = conn.prepareStatement(approvedQuery)) {
-                stmt.setString(1, adminCountry);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    approvedLabel.setText(String.valueOf(rs.getInt(1)));
+        statisticsRequest.submit(
+            () -> DatabaseManager.getInstance().getStatisticsService().getStatusCounts(adminCountry),
+            this::showStatistics,
+            e -> showError("Failed to load statistics: " + e.getMessage()));
+    }
+    
+    // The badge reads the per-country counter, never the messages themselves
+    private void updateUnreadBadge() {
+        unreadRequest.submit(
+            () -> DatabaseManager.getInstance().getUnreadMessageCount(adminCountry),
+            this::showUnreadCount,
+            e -> LOG.warn("Failed to load unread message count", e));
+    }
+    
+    private void showUnreadCount(int unread) {
+        unreadBadge.setText(unread > 99 ? "99+" : String.valueOf(unread));
+        unreadBadge.setVisible(unread > 0);
+    }
+    
+    private void showStatistics(StatisticsService.StatusCounts counts) {
+        statusCounts = counts;
+        totalApplicationsLabel.setText(String.valueOf(counts.getTotal()));
+        processingLabel.setText(String.valueOf(counts.getProcessing()));
+        approvedLabel.setText(String.valueOf(counts.getApproved()));
+        rejectedLabel.setText(String.valueOf(counts.getRejected()));
+    }
+    
+    // Runs on the JavaFX thread for every committed status change
+    private void applyStatusChange(DatabaseManager.StatusChange change) {
+        if (!adminCountry.equals(change.getCountry())) {
+            return;
+        }
+        LOG.debug(() -> "Status change: " + change.getApplicationId() + " " +
+                        change.getOldStatus() + " → " + change.getNewStatus());
+        
+        // A count query still in flight may or may not include this change, so ask again instead
+        if (statisticsRequest.isRunning() || statusCounts == null) {
+            updateStatistics();
+        } else {
+            showStatistics(statusCounts.withStatusChange(change.getOldStatus(), change.getNewStatus()));
+        }
+        
+        String filterStatus = statusFilter.getValue();
+        List<ApplicationData> items = applicationsTable.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            ApplicationData row = items.get(i);
+            if (row.getApplicationId().equals(change.getApplicationId())) {
+                if (filterStatus != null && !"All".equals(filterStatus) && !filterStatus.equals(change.getNewStatus())) {
+                    items.remove(i); // No longer matches the filter
+                } else {
+                    row.setStatus(change.getNewStatus());
                 }
+                break;
             }
-            
-            // Rejected
-            String rejectedQuery = "SELECT COUNT(*) FROM applicants WHERE country = ? AND status = 'Rejected'";
-            try (PreparedStatement stmt = conn.prepareStatement(rejectedQuery)) {
-                stmt.setString(1, adminCountry);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next()) {
-                    rejectedLabel.setText(String.valueOf(rs.getInt(1)));
+        }
+    }
+    
+    // Runs on the JavaFX thread after any commit to the database: this dashboard's own decisions,
+    // other countries, other processes. The counters tell whether this country changed in a way
+    // the status change listener has not already patched in; only then is the list reloaded.
+    private void refreshAfterChange() {
+        updateUnreadBadge();
+        if (statisticsRequest.isRunning()) {
+            return; // Its result already includes this change
+        }
+        statisticsRequest.submit(
+            () -> DatabaseManager.getInstance().getStatisticsService().getStatusCounts(adminCountry),
+            counts -> {
+                boolean changedElsewhere = !counts.equals(statusCounts);
+                showStatistics(counts);
+                if (changedElsewhere) {
+                    reloadFirstPage();
                 }
-            }
-            
-        } catch (SQLException e) {
-            showError("Failed to load statistics: " + e.getMessage());
+            },
+            e -> LOG.warn("Automatic refresh of statistics failed", e));
+    }
+    
+    // Reload the list only while the first page is shown and the admin is not mid-action,
+    // so new applications appear without losing the scroll position or selection
+    private void reloadFirstPage() {
+        boolean busy = applicationsRequest.isRunning() || pageRequest.isRunning() ||
+                       searchDelay.getStatus() == Animation.Status.RUNNING;
+        if (!busy && pager != null && applicationsTable.getItems().size() <= pager.getPageSize() &&
+                applicationsTable.getSelectionModel().isEmpty()) {
+            LOG.debug(() -> "Applications for " + adminCountry + " changed elsewhere, reloading");
+            loadApplications();
+        }
+    }
+    
+    // Must be called before leaving the dashboard so the listener does not keep it alive
+    private void detach() {
+        DatabaseManager.getInstance().removeStatusChangeListener(statusListener);
+        DatabaseManager.getInstance().getChangeWatchService().removeListener(changeListener);
+        applicationsRequest.cancel();
+        pageRequest.cancel();
+        statisticsRequest.cancel();
+        unreadRequest.cancel();
+        historyRequest.cancel();
+        searchDelay.stop();
+        if (pager != null) {
+            pager.close();
         }
     }
     
@@ -277,46 +401,28 @@ public class AdminDashboardController {
         
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(duration -> {
-            System.out.println("\n=================================================");
-            System.out.println("⏳ APPROVING APPLICATION");
-            System.out.println("  - Application ID: " + app.getApplicationId());
-            System.out.println("  - Duration: " + duration);
-            System.out.println("  - Admin: " + adminUsername);
-            System.out.println("=================================================");
+            LOG.info("Approving " + app.getApplicationId() + " for " + duration + " (admin: " + adminUsername + ")");
             
-            // Update database
+            // Update database in the background, then refresh on the JavaFX thread
             DatabaseManager dbManager = DatabaseManager.getInstance();
-            boolean updateSuccess = dbManager.updateApplicationStatus(app.getApplicationId(), "Approved", duration, adminUsername);
-            
-            if (!updateSuccess) {
-                System.err.println("✗ DATABASE UPDATE FAILED - NOT REFRESHING UI");
-                System.err.println("Check console output above for detailed error information");
-                showError("Failed to update application status!\n\n" +
-                         "Application ID: " + app.getApplicationId() + "\n" +
-                         "Check console for details.");
-                return;
-            }
-            
-            System.out.println("\n🔄 REFRESHING UI...");
-            
-            // Use Platform.runLater to ensure UI update happens on JavaFX thread
-            Platform.runLater(() -> {
-                // Reload data from database (setAll in loadApplications clears automatically)
-                loadApplications();
-                updateStatistics();
-                
-                // Force complete table refresh including all columns
-                applicationsTable.refresh();
-                for (int i = 0; i < applicationsTable.getColumns().size(); i++) {
-                    applicationsTable.getColumns().get(i).setVisible(false);
-                    applicationsTable.getColumns().get(i).setVisible(true);
-                }
+            DatabaseExecutor.submit(() -> dbManager.transitionStatus(app.getApplicationId(), "Processing", "Approved", duration, adminUsername))
+                .whenComplete((transition, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        LOG.error("Failed to approve " + app.getApplicationId(), error);
+                        showError("Failed to update application status!\n\n" +
+                                 "Application ID: " + app.getApplicationId() + "\n" +
+                                 "Details are in the log file:\n" + Logger.getLogFile());
+                        return;
+                    }
+                    if (!transition.isUpdated()) {
+                        showTransitionFailure(app, transition);
+                        return;
+                    }
                 
-                System.out.println("✓ UI REFRESH COMPLETED");
-                System.out.println("=================================================\n");
+                    // The row and counters were already patched by the status change listener
                 
-                showSuccess("Application approved successfully!\nVisa Duration: " + duration);
-            });
+                    showSuccess("Application approved successfully!\nVisa Duration: " + duration);
+                }));
         });
     }
     
@@ -381,128 +487,99 @@ public class AdminDashboardController {
                 default: banMonths = 0;
             }
             
-            System.out.println("\n=================================================");
-            System.out.println("⛔ REJECTING APPLICATION");
-            System.out.println("  - Application ID: " + app.getApplicationId());
-            System.out.println("  - Admin: " + adminUsername);
-            System.out.println("  - Reason: " + reason);
-            System.out.println("  - Ban Duration: " + banDuration + " (" + banMonths + " months)");
-            System.out.println("=================================================");
+            LOG.info("Rejecting " + app.getApplicationId() + " with ban " + banDuration + " (admin: " + adminUsername + ")");
             
-            // Get applicant details for rejection history
+            // Look up the applicant, reject and record the ban in the background
             DatabaseManager dbManager = DatabaseManager.getInstance();
-            
-            String nationalId = null;
-            String passport = null;
-            String country = null;
-            
-            // First, get applicant details and close the connection
-            try (Connection conn = dbManager.getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT national_id, passport, country FROM applicants WHERE application_id = ?")) {
+            DatabaseExecutor.submit(() -> rejectApplication(dbManager, app.getApplicationId(), reason, banMonths))
+                .whenComplete((transition, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        LOG.error("Failed to reject " + app.getApplicationId(), error);
+                        showError(error.getMessage());
+                        return;
+                    }
+                    if (!transition.isUpdated()) {
+                        showTransitionFailure(app, transition);
+                        return;
+                    }
                 
-                stmt.setString(1, app.getApplicationId());
-                ResultSet rs = stmt.executeQuery();
+                    // The row and counters were already patched by the status change listener
                 
-                if (rs.next()) {
-                    nationalId = rs.getString("national_id");
-                    passport = rs.getString("passport");
-                    country = rs.getString("country");
-                }
-            } catch (SQLException e) {
-                System.err.println("✗ DATABASE ERROR: " + e.getMessage());
-                e.printStackTrace();
-                showError("Failed to retrieve applicant details: " + e.getMessage());
-                return;
-            }
-            
-            if (nationalId == null || passport == null || country == null) {
-                showError("Failed to retrieve applicant information");
-                return;
-            }
-            
-            // Now update application status with connection properly closed
-            boolean updateSuccess = dbManager.updateApplicationStatus(app.getApplicationId(), "Rejected", null, adminUsername);
-            
-            if (!updateSuccess) {
-                showError("Failed to update application status");
-                return;
-            }
+                    String message = "Application rejected.\n\nReason: " + reason;
+                    if (banMonths > 0) {
+                        message += "\n\nBan Duration: " + banDuration;
+                        message += "\nApplicant cannot reapply with same NID/Passport to " + transition.getCountry();
+                    }
+                    showSuccess(message);
+                }));
+        }
+    }
+    
+    // Runs on a background thread; the ban is only recorded if the rejection went through
+    private DatabaseManager.StatusTransitionResult rejectApplication(DatabaseManager dbManager, String applicationId,
+                                                                     String reason, int banMonths) throws SQLException {
+        DatabaseManager.StatusTransitionResult result =
+            dbManager.transitionStatus(applicationId, "Processing", "Rejected", null, adminUsername);
+        
+        // Add to rejection history if ban duration is set
+        if (result.isUpdated() && banMonths > 0) {
+            boolean historyAdded = dbManager.addRejectionHistory(
+                applicationId, 
+                result.getNationalId(), 
+                result.getPassport(), 
+                result.getCountry(), 
+                reason, 
+                banMonths, 
+                adminUsername
+            );
             
-            // Add to rejection history if ban duration is set
-            if (banMonths > 0) {
-                boolean historyAdded = dbManager.addRejectionHistory(
-                    app.getApplicationId(), 
-                    nationalId, 
-                    passport, 
-                    country, 
-                    reason, 
-                    banMonths, 
-                    adminUsername
-                );
-                
-                if (!historyAdded) {
-                    System.err.println("⚠️ Failed to add rejection history, but application was rejected");
-                }
+            if (!historyAdded) {
+                LOG.warn("Failed to add rejection history, but application was rejected");
             }
-            
-            System.out.println("\n🔄 REFRESHING UI...");
-            
-            final String finalCountry = country;
-            Platform.runLater(() -> {
-                loadApplications();
-                updateStatistics();
-                applicationsTable.refresh();
-                for (int i = 0; i < applicationsTable.getColumns().size(); i++) {
-                    applicationsTable.getColumns().get(i).setVisible(false);
-                    applicationsTable.getColumns().get(i).setVisible(true);
-                }
-                
-                System.out.println("✓ UI REFRESH COMPLETED");
-                System.out.println("=================================================\n");
-                
-                String message = "Application rejected.\n\nReason: " + reason;
-                if (banMonths > 0) {
-                    message += "\n\nBan Duration: " + banDuration;
-                    message += "\nApplicant cannot reapply with same NID/Passport to " + finalCountry;
-                }
-                showSuccess(message);
-            });
         }
+        return result;
+    }
+    
+    // Another admin got there first, or the application is gone
+    private void showTransitionFailure(ApplicationData app, DatabaseManager.StatusTransitionResult result) {
+        if (result.getOutcome() == DatabaseManager.StatusTransitionResult.Outcome.NOT_FOUND) {
+            showError("Application " + app.getApplicationId() + " no longer exists.");
+            applicationsTable.getItems().remove(app);
+        } else {
+            showError("Application " + app.getApplicationId() + " has already been " +
+                      result.getStatus().toLowerCase() + ".");
+            app.setStatus(result.getStatus());
+        }
+        updateStatistics();
     }
     
     private void handleView(ApplicationData app) {
-        System.out.println("===========================================");
-        System.out.println("VIEW BUTTON CLICKED");
-        System.out.println("Application ID: " + app.getApplicationId());
-        System.out.println("===========================================");
+        LOG.debug(() -> "Opening details for " + app.getApplicationId());
         
         try {
+            detach();
+            
             // Navigate to application details page
             ApplicationDetailsController controller = VisaManagementApp.changeSceneWithController(
                 "/fxml/application-details.fxml", 
                 "Application Details - " + app.getApplicationId()
             );
             
-            System.out.println("Controller retrieved: " + (controller != null ? "SUCCESS" : "NULL"));
             
             if (controller != null) {
                 controller.setApplicationId(app.getApplicationId());
-                System.out.println("Application ID set on controller");
             } else {
-                System.err.println("ERROR: Controller is null!");
+                LOG.error("Application details controller is null");
             }
         } catch (Exception e) {
-            System.err.println("ERROR in handleView: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error opening application details", e);
             showError("Failed to open application details: " + e.getMessage());
         }
     }
     
     @FXML
     private void handleViewMessages() {
-        System.out.println("=== VIEWING MESSAGES ===");
-        System.out.println("Admin Country: " + adminCountry);
+        LOG.debug(() -> "Viewing messages for " + adminCountry);
         
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle("Applicant Messages - " + adminCountry);
@@ -512,98 +589,131 @@ public class AdminDashboardController {
         content.setPadding(new Insets(20));
         content.setPrefSize(800, 600);
         
-        // Get messages from database
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        List<DatabaseManager.ApplicantMessage> messages = dbManager.getAllMessagesForCountry(adminCountry);
+        Label noMessages = new Label("📭 No messages yet from applicants in " + adminCountry);
+        noMessages.setStyle("-fx-font-size: 16px; -fx-text-fill: gray; -fx-padding: 50;");
+        
+        Label infoLabel = new Label("Messages will appear here when applicants with 'Processing' status send messages.");
+        infoLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666; -fx-padding: 10;");
+        infoLabel.setWrapText(true);
+        infoLabel.setMaxWidth(600);
+        
+        VBox emptyBox = new VBox(20, noMessages, infoLabel);
+        emptyBox.setAlignment(Pos.CENTER);
+        
+        // Create table for messages; several can be selected and marked read together
+        TableView<DatabaseManager.ApplicantMessage> messageTable = new TableView<>();
+        messageTable.setPrefHeight(400);
+        messageTable.setPlaceholder(emptyBox);
+        messageTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        
+        TableColumn<DatabaseManager.ApplicantMessage, String> appIdCol = new TableColumn<>("Application ID");
+        appIdCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getApplicationId()));
+        appIdCol.setPrefWidth(150);
+        
+        TableColumn<DatabaseManager.ApplicantMessage, String> messageCol = new TableColumn<>("Message");
+        messageCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getMessage()));
+        messageCol.setPrefWidth(350);
+        
+        TableColumn<DatabaseManager.ApplicantMessage, String> statusCol = new TableColumn<>("Status");
+        statusCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getStatus()));
+        statusCol.setPrefWidth(80);
+        
+        TableColumn<DatabaseManager.ApplicantMessage, String> dateCol = new TableColumn<>("Date");
+        dateCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getCreatedAt()));
+        dateCol.setPrefWidth(150);
+        
+        @SuppressWarnings("unchecked")
+        TableColumn<DatabaseManager.ApplicantMessage, ?>[] messageCols = new TableColumn[]{appIdCol, messageCol, statusCol, dateCol};
+        messageTable.getColumns().addAll(messageCols);
+        
+        // Pages are fetched in the background, newest first, continuing from the last message shown
+        ProgressIndicator inboxLoading = new ProgressIndicator();
+        inboxLoading.setPrefSize(24, 24);
+        FxRequest<List<DatabaseManager.ApplicantMessage>> inboxRequest = new FxRequest<>(inboxLoading);
+        Button loadMoreButton = new Button("Load Older Messages");
+        loadMoreButton.setDisable(true);
+        Runnable loadPage = () -> {
+            List<DatabaseManager.ApplicantMessage> shown = messageTable.getItems();
+            DatabaseManager.ApplicantMessage last = shown.isEmpty() ? null : shown.get(shown.size() - 1);
+            loadMoreButton.setDisable(true);
+            inboxRequest.submit(
+                () -> DatabaseManager.getInstance().getInboxPage(adminCountry, last, INBOX_PAGE_SIZE),
+                page -> {
+                    messageTable.getItems().addAll(page);
+                    loadMoreButton.setDisable(page.size() < INBOX_PAGE_SIZE);
+                    LOG.debug(() -> "Inbox: " + messageTable.getItems().size() + " messages shown");
+                },
+                e -> {
+                    LOG.error("Failed to load messages", e);
+                    showError("Failed to load messages: " + e.getMessage());
+                });
+        };
+        loadMoreButton.setOnAction(e -> loadPage.run());
         
-        System.out.println("Messages found: " + (messages != null ? messages.size() : "null"));
+        // Buttons for message actions
+        HBox buttonBox = new HBox(10);
+        buttonBox.setAlignment(Pos.CENTER);
         
-        if (messages == null || messages.isEmpty()) {
-            Label noMessages = new Label("📭 No messages yet from applicants in " + adminCountry);
-            noMessages.setStyle("-fx-font-size: 16px; -fx-text-fill: gray; -fx-padding: 50;");
-            
-            Label infoLabel = new Label("Messages will appear here when applicants with 'Processing' status send messages.");
-            infoLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666; -fx-padding: 10;");
-            infoLabel.setWrapText(true);
-            infoLabel.setMaxWidth(600);
-            
-            VBox emptyBox = new VBox(20, noMessages, infoLabel);
-            emptyBox.setAlignment(Pos.CENTER);
-            content.getChildren().add(emptyBox);
-        } else {
-            // Create table for messages
-            TableView<DatabaseManager.ApplicantMessage> messageTable = new TableView<>();
-            messageTable.setPrefHeight(400);
-            
-            TableColumn<DatabaseManager.ApplicantMessage, String> appIdCol = new TableColumn<>("Application ID");
-            appIdCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getApplicationId()));
-            appIdCol.setPrefWidth(150);
-            
-            TableColumn<DatabaseManager.ApplicantMessage, String> messageCol = new TableColumn<>("Message");
-            messageCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getMessage()));
-            messageCol.setPrefWidth(350);
-            
-            TableColumn<DatabaseManager.ApplicantMessage, String> statusCol = new TableColumn<>("Status");
-            statusCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getStatus()));
-            statusCol.setPrefWidth(80);
-            
-            TableColumn<DatabaseManager.ApplicantMessage, String> dateCol = new TableColumn<>("Date");
-            dateCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getCreatedAt()));
-            dateCol.setPrefWidth(150);
-            
-            @SuppressWarnings("unchecked")
-            TableColumn<DatabaseManager.ApplicantMessage, ?>[] messageCols = new TableColumn[]{appIdCol, messageCol, statusCol, dateCol};
-            messageTable.getColumns().addAll(messageCols);
-            messageTable.setItems(FXCollections.observableArrayList(messages));
-            
-            // Buttons for message actions
-            HBox buttonBox = new HBox(10);
-            buttonBox.setAlignment(Pos.CENTER);
-            
-            Button viewButton = new Button("View Full Message");
-            viewButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white;");
-            viewButton.setOnAction(e -> {
-                DatabaseManager.ApplicantMessage selected = messageTable.getSelectionModel().getSelectedItem();
-                if (selected != null) {
-                    showFullMessage(selected);
-                } else {
-                    showAlert("No Selection", "Please select a message to view", Alert.AlertType.WARNING);
-                }
-            });
-            
-            Button markReadButton = new Button("Mark as Read");
-            markReadButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white;");
-            markReadButton.setOnAction(e -> {
-                DatabaseManager.ApplicantMessage selected = messageTable.getSelectionModel().getSelectedItem();
-                if (selected != null) {
-                    if (dbManager.markMessageAsRead(selected.getId())) {
-                        selected.setStatus("READ");
-                        messageTable.refresh();
-                        showAlert("Success", "Message marked as read", Alert.AlertType.INFORMATION);
+        Button viewButton = new Button("View Full Message");
+        viewButton.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white;");
+        viewButton.setOnAction(e -> {
+            DatabaseManager.ApplicantMessage selected = messageTable.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                showFullMessage(selected);
+            } else {
+                showAlert("No Selection", "Please select a message to view", Alert.AlertType.WARNING);
+            }
+        });
+        
+        Button markReadButton = new Button("Mark as Read");
+        markReadButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white;");
+        markReadButton.setOnAction(e -> {
+            List<DatabaseManager.ApplicantMessage> unread = messageTable.getSelectionModel().getSelectedItems().stream()
+                .filter(message -> "UNREAD".equals(message.getStatus()))
+                .toList();
+            if (messageTable.getSelectionModel().isEmpty()) {
+                showAlert("No Selection", "Please select a message", Alert.AlertType.WARNING);
+                return;
+            }
+            if (unread.isEmpty()) {
+                return;
+            }
+            List<Integer> ids = unread.stream().map(DatabaseManager.ApplicantMessage::getId).toList();
+            DatabaseExecutor.submit(() -> DatabaseManager.getInstance().markMessagesRead(adminCountry, ids))
+                .whenComplete((marked, error) -> Platform.runLater(() -> {
+                    if (error != null) {
+                        LOG.error("Failed to mark messages as read", error);
+                        showError("Failed to mark messages as read: " + error.getMessage());
+                        return;
                     }
-                } else {
-                    showAlert("No Selection", "Please select a message", Alert.AlertType.WARNING);
-                }
-            });
-            
-            Button historyButton = new Button("View Applicant History");
-            historyButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white;");
-            historyButton.setOnAction(e -> {
-                DatabaseManager.ApplicantMessage selected = messageTable.getSelectionModel().getSelectedItem();
-                if (selected != null) {
-                    showApplicantHistory(selected.getApplicationId());
-                } else {
-                    showAlert("No Selection", "Please select a message", Alert.AlertType.WARNING);
-                }
-            });
-            
-            buttonBox.getChildren().addAll(viewButton, markReadButton, historyButton);
-            content.getChildren().addAll(messageTable, buttonBox);
-        }
+                    unread.forEach(message -> message.setStatus("READ"));
+                    messageTable.refresh();
+                    updateUnreadBadge();
+                    showAlert("Success", marked == 1 ? "Message marked as read" : marked + " messages marked as read",
+                              Alert.AlertType.INFORMATION);
+                }));
+        });
+        
+        Button historyButton = new Button("View Applicant History");
+        historyButton.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white;");
+        historyButton.setOnAction(e -> {
+            DatabaseManager.ApplicantMessage selected = messageTable.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                showApplicantHistory(selected.getApplicationId());
+            } else {
+                showAlert("No Selection", "Please select a message", Alert.AlertType.WARNING);
+            }
+        });
+        
+        buttonBox.getChildren().addAll(viewButton, markReadButton, historyButton, loadMoreButton, inboxLoading);
+        content.getChildren().addAll(messageTable, buttonBox);
+        loadPage.run();
         
         dialog.getDialogPane().setContent(content);
         dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
         dialog.showAndWait();
+        inboxRequest.cancel();
+        updateUnreadBadge();
     }
     
     private void showFullMessage(DatabaseManager.ApplicantMessage message) {
@@ -644,41 +754,32 @@ public class AdminDashboardController {
     }
     
     private void showApplicantHistory(String applicationId) {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT national_id, passport, nationality FROM applicants WHERE application_id = ?")) {
-            
-            stmt.setString(1, applicationId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                String nationalId = rs.getString("national_id");
-                String passport = rs.getString("passport");
-                String nationality = rs.getString("nationality");
-                
-                showTravelHistory(nationalId, passport, nationality);
-            } else {
-                showError("Application not found");
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            showError("Failed to retrieve applicant details: " + e.getMessage());
-        }
+        historyRequest.submit(
+            () -> DatabaseManager.getInstance().getPersonHistory(applicationId),
+            person -> {
+                if (person == null) {
+                    showError("Application not found");
+                    return;
+                }
+                showTravelHistory(person);
+            },
+            e -> {
+                LOG.error("Failed to retrieve applicant history", e);
+                showError("Failed to retrieve applicant history: " + e.getMessage());
+            });
     }
     
-    private void showTravelHistory(String nationalId, String passport, String nationality) {
+    private void showTravelHistory(DatabaseManager.PersonHistory person) {
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle("Complete Travel History");
-        dialog.setHeaderText("All visa applications | Nationality: " + nationality + " | NID: " + nationalId + " | Passport: " + passport);
+        dialog.setHeaderText("All visa applications | Nationality: " + person.getNationality() +
+                             " | NID: " + person.getNationalId() + " | Passport: " + person.getPassport());
         
         VBox content = new VBox(15);
         content.setPadding(new Insets(20));
         content.setPrefSize(900, 500);
         
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        List<DatabaseManager.TravelHistory> history = dbManager.getTravelHistory(nationalId, passport, nationality);
+        List<DatabaseManager.TravelHistory> history = person.getEntries();
         
         if (history.isEmpty()) {
             Label noHistory = new Label("No travel history found.");
@@ -731,15 +832,15 @@ public class AdminDashboardController {
     
     @FXML
     private void handleRefresh() {
-        System.out.println("Manual refresh triggered...");
+        LOG.debug("Manual refresh triggered");
         loadApplications();
         updateStatistics();
-        applicationsTable.refresh();
-        System.out.println("Refresh completed.");
+        updateUnreadBadge();
     }
     
     @FXML
     private void handleLogout() {
+        detach();
         VisaApplicationSession.getInstance().clear();
         VisaManagementApp.changeScene("/fxml/home.fxml", "Visa Management & Processing System");
     }
@@ -784,21 +885,25 @@ public class AdminDashboardController {
             }
         });
         
-        // Load existing notices
-        loadNotices(noticeListView);
+        // Load existing notices in the background; reloads replace a load still in flight
+        ProgressIndicator noticesLoading = new ProgressIndicator();
+        noticesLoading.setPrefSize(24, 24);
+        FxRequest<List<DatabaseManager.Notice>> noticesRequest = new FxRequest<>(noticesLoading);
+        Runnable reloadNotices = () -> loadNotices(noticesRequest, noticeListView);
+        reloadNotices.run();
         
         // Buttons for notice management
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
         
         Button addButton = new Button("➕ Add Notice");
-        addButton.setOnAction(e -> showAddEditNoticeDialog(null, noticeListView));
+        addButton.setOnAction(e -> showAddEditNoticeDialog(null, reloadNotices));
         
         Button editButton = new Button("✏️ Edit Notice");
         editButton.setOnAction(e -> {
             DatabaseManager.Notice selected = noticeListView.getSelectionModel().getSelectedItem();
             if (selected != null) {
-                showAddEditNoticeDialog(selected, noticeListView);
+                showAddEditNoticeDialog(selected, reloadNotices);
             } else {
                 showAlert("No Selection", "Please select a notice to edit", Alert.AlertType.WARNING);
             }
@@ -817,19 +922,25 @@ public class AdminDashboardController {
                 Optional<ButtonType> result = confirmAlert.showAndWait();
                 if (result.isPresent() && result.get() == ButtonType.OK) {
                     DatabaseManager dbManager = DatabaseManager.getInstance();
-                    if (dbManager.deleteNotice(selected.getId())) {
-                        loadNotices(noticeListView);
-                        showAlert("Success", "Notice deleted successfully", Alert.AlertType.INFORMATION);
-                    } else {
-                        showError("Failed to delete notice");
-                    }
+                    DatabaseExecutor.submit(() -> dbManager.deleteNotice(selected.getId()))
+                        .whenComplete((deleted, error) -> Platform.runLater(() -> {
+                            if (error != null || !deleted) {
+                                if (error != null) {
+                                    LOG.error("Failed to delete notice " + selected.getId(), error);
+                                }
+                                showError("Failed to delete notice");
+                                return;
+                            }
+                            reloadNotices.run();
+                            showAlert("Success", "Notice deleted successfully", Alert.AlertType.INFORMATION);
+                        }));
                 }
             } else {
                 showAlert("No Selection", "Please select a notice to delete", Alert.AlertType.WARNING);
             }
         });
         
-        buttonBox.getChildren().addAll(addButton, editButton, deleteButton);
+        buttonBox.getChildren().addAll(addButton, editButton, deleteButton, noticesLoading);
         
         content.getChildren().addAll(
             new Label("Existing Notices:"),
@@ -840,16 +951,23 @@ public class AdminDashboardController {
         dialog.getDialogPane().setContent(content);
         dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
         dialog.showAndWait();
+        noticesRequest.cancel();
     }
     
-    private void loadNotices(ListView<DatabaseManager.Notice> listView) {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        List<DatabaseManager.Notice> notices = dbManager.getNotices(adminCountry);
-        ObservableList<DatabaseManager.Notice> items = FXCollections.observableArrayList(notices);
-        listView.setItems(items);
+    private void loadNotices(FxRequest<List<DatabaseManager.Notice>> request, ListView<DatabaseManager.Notice> listView) {
+        request.submit(
+            () -> DatabaseManager.getInstance().getNotices(adminCountry),
+            notices -> {
+                ObservableList<DatabaseManager.Notice> items = FXCollections.observableArrayList(notices);
+                listView.setItems(items);
+            },
+            e -> {
+                LOG.error("Failed to load notices", e);
+                showError("Failed to load notices: " + e.getMessage());
+            });
     }
     
-    private void showAddEditNoticeDialog(DatabaseManager.Notice existingNotice, ListView<DatabaseManager.Notice> parentListView) {
+    private void showAddEditNoticeDialog(DatabaseManager.Notice existingNotice, Runnable reloadNotices) {
         Dialog<Void> dialog = new Dialog<>();
         dialog.setTitle(existingNotice == null ? "Add New Notice" : "Edit Notice");
         dialog.setHeaderText(existingNotice == null ? "Create a new notice for " + adminCountry : "Modify the notice");
@@ -898,25 +1016,22 @@ public class AdminDashboardController {
                     return null;
                 }
                 
+                // Adding and updating both go through saveNotice
                 DatabaseManager dbManager = DatabaseManager.getInstance();
-                boolean success;
-                
-                if (existingNotice == null) {
-                    // Add new notice
-                    success = dbManager.saveNotice(adminCountry, title, contentText, noticeType, adminUsername);
-                } else {
-                    // Update existing notice
-                    success = dbManager.saveNotice(adminCountry, title, contentText, noticeType, adminUsername);
-                }
-                
-                if (success) {
-                    loadNotices(parentListView);
-                    showAlert("Success", 
-                        existingNotice == null ? "Notice added successfully" : "Notice updated successfully", 
-                        Alert.AlertType.INFORMATION);
-                } else {
-                    showError("Failed to save notice");
-                }
+                DatabaseExecutor.submit(() -> dbManager.saveNotice(adminCountry, title, contentText, noticeType, adminUsername))
+                    .whenComplete((saved, error) -> Platform.runLater(() -> {
+                        if (error != null || !saved) {
+                            if (error != null) {
+                                LOG.error("Failed to save notice", error);
+                            }
+                            showError("Failed to save notice");
+                            return;
+                        }
+                        reloadNotices.run();
+                        showAlert("Success", 
+                            existingNotice == null ? "Notice added successfully" : "Notice updated successfully", 
+                            Alert.AlertType.INFORMATION);
+                    }));
             }
             return null;
         });
@@ -941,40 +1056,48 @@ public class AdminDashboardController {
     }
     
     // Inner class for table data
+    // One table row; only the status is observable, since approve/reject can change it
     public static class ApplicationData {
-        private final SimpleStringProperty applicationId;
-        private final SimpleStringProperty applicantName;
-        private final SimpleStringProperty visaType;
-        private final SimpleStringProperty nationality;
-        private final SimpleStringProperty status;
-        private final SimpleStringProperty date;
+        private final String applicationId;
+        private final String applicantName;
+        private final String visaType;
+        private final String nationality;
+        private final String date;
+        private String status;
+        private SimpleStringProperty statusProperty;
         
         public ApplicationData(String applicationId, String applicantName, String visaType, 
                              String nationality, String status, String date) {
-            this.applicationId = new SimpleStringProperty(applicationId);
-            this.applicantName = new SimpleStringProperty(applicantName);
-            this.visaType = new SimpleStringProperty(visaType);
-            this.nationality = new SimpleStringProperty(nationality);
-            this.status = new SimpleStringProperty(status);
-            this.date = new SimpleStringProperty(date);
+            this.applicationId = applicationId;
+            this.applicantName = applicantName;
+            this.visaType = visaType;
+            this.nationality = nationality;
+            this.status = status;
+            this.date = date;
         }
         
-        public String getApplicationId() { return applicationId.get(); }
-        public SimpleStringProperty applicationIdProperty() { return applicationId; }
-        
-        public String getApplicantName() { return applicantName.get(); }
-        public SimpleStringProperty applicantNameProperty() { return applicantName; }
-        
-        public String getVisaType() { return visaType.get(); }
-        public SimpleStringProperty visaTypeProperty() { return visaType; }
+        public String getApplicationId() { return applicationId; }
+        public String getApplicantName() { return applicantName; }
+        public String getVisaType() { return visaType; }
+        public String getNationality() { return nationality; }
+        public String getDate() { return date; }
         
-        public String getNationality() { return nationality.get(); }
-        public SimpleStringProperty nationalityProperty() { return nationality; }
+        public String getStatus() { return statusProperty != null ? statusProperty.get() : status; }
         
-        public String getStatus() { return status.get(); }
-        public SimpleStringProperty statusProperty() { return status; }
+        public void setStatus(String status) {
+            if (statusProperty != null) {
+                statusProperty.set(status);
+            } else {
+                this.status = status;
+            }
+        }
         
-        public String getDate() { return date.get(); }
-        public SimpleStringProperty dateProperty() { return date; }
+        // Created on first use, i.e. only for rows that have been displayed
+        public SimpleStringProperty statusProperty() {
+            if (statusProperty == null) {
+                statusProperty = new SimpleStringProperty(status);
+            }
+            return statusProperty;
+        }
     }
 }
@@ -1,7 +1,10 @@
 package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
+import com.visa.management.database.ChangeWatchService;
 import com.visa.management.database.DatabaseManager;
+import com.visa.management.logging.Logger;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
@@ -11,13 +14,11 @@ import javafx.scene.control.Button;
 import javafx.scene.layout.VBox;
 import javafx.geometry.Insets;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.util.Objects;
 import java.util.Optional;
 
 public class ApplicantDashboardController {
+    private static final Logger LOG = Logger.get(ApplicantDashboardController.class);
     
     @FXML private Label welcomeLabel;
     @FXML private Label applicationIdLabel;
@@ -40,6 +41,12 @@ public class ApplicantDashboardController {
     private String currentStatus;
     private String visaType;
     
+    private FxRequest<DatabaseManager.ApplicantProfile> profileRequest;
+    private FxRequest<Boolean> messageRequest;
+    // Picks up decisions without the applicant having to click Refresh
+    private final ChangeWatchService.ChangeListener changeListener =
+        () -> Platform.runLater(this::refreshAfterChange);
+    
     @FXML
     public void initialize() {
         // Get applicant info from session
@@ -51,127 +58,141 @@ public class ApplicantDashboardController {
         welcomeLabel.setText("Welcome, " + applicantName);
         
         // Load application data
+        profileRequest = new FxRequest<>();
+        messageRequest = new FxRequest<>();
         loadApplicationData();
+        DatabaseManager.getInstance().getChangeWatchService().addListener(changeListener);
         
         // Update message button visibility based on status (will be set after loadApplicationData)
     }
     
     private void loadApplicationData() {
-        System.out.println("╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║     LOADING APPLICANT DATA FROM DATABASE                   ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
-        System.out.println("Application ID: " + applicantId);
-        
-        DatabaseManager dbManager = DatabaseManager.getInstance();
+        LOG.debug(() -> "Loading applicant data for " + applicantId);
+        String id = applicantId;
         
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT * FROM applicants WHERE application_id = ?")) {
-            
-            stmt.setString(1, applicantId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                applicationIdLabel.setText(rs.getString("application_id"));
-                
-                // Set status with color
-                currentStatus = rs.getString("status");
-                visaType = rs.getString("visa_type");
-                
-                System.out.println("✓ Found application in database");
-                System.out.println("  - Current Status: " + currentStatus);
-                System.out.println("  - Visa Type: " + visaType);
-                
-                String visaDuration = rs.getString("visa_duration");
-                String approvedBy = rs.getString("approved_by");
-                String approvalDate = rs.getString("approval_date");
-                
-                System.out.println("  - Visa Duration: " + (visaDuration != null ? visaDuration : "N/A"));
-                System.out.println("  - Approved By: " + (approvedBy != null ? approvedBy : "N/A"));
-                System.out.println("  - Approval Date: " + (approvalDate != null ? approvalDate : "N/A"));
-                
-                statusLabel.setText(currentStatus);
-                switch (currentStatus) {
-                    case "Processing":
-                        statusLabel.setStyle("-fx-text-fill: #FF9800; -fx-font-weight: bold;");
-                        break;
-                    case "Approved":
-                        statusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
-                        break;
-                    case "Rejected":
-                        statusLabel.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
-                        break;
+        profileRequest.submit(
+            () -> DatabaseManager.getInstance().findApplicantProfile(id),
+            this::showProfile,
+            e -> {
+                LOG.error("Database error loading application data", e);
+                showError("Failed to load application data: " + e.getMessage());
+            });
+    }
+    
+    // Runs on the JavaFX thread after any commit to the database; failures are only logged.
+    // Everything shown here changes together with the status, so the profile is only
+    // re-read once the status differs from the one on screen.
+    private void refreshAfterChange() {
+        if (profileRequest.isRunning()) {
+            return;
+        }
+        String id = applicantId;
+        String shownStatus = currentStatus;
+        profileRequest.submit(
+            () -> {
+                DatabaseManager dbManager = DatabaseManager.getInstance();
+                return Objects.equals(dbManager.findStatus(id), shownStatus) ? null : dbManager.findApplicantProfile(id);
+            },
+            profile -> {
+                if (profile != null) {
+                    showProfile(profile);
                 }
-                
-                countryLabel.setText(rs.getString("country"));
-                visaTypeLabel.setText(visaType);
-                fullNameLabel.setText(rs.getString("first_name") + " " + rs.getString("last_name"));
-                nationalityLabel.setText(rs.getString("nationality"));
-                emailLabel.setText(rs.getString("email"));
-                phoneLabel.setText(rs.getString("phone"));
-                appliedDateLabel.setText(rs.getString("created_at"));
-                
-                // Show visa duration and approval info if approved
-                if ("Approved".equals(currentStatus)) {
-                    System.out.println("✓ Application is APPROVED - showing approval details");
-                    
-                    if (visaDurationLabel != null && visaDuration != null) {
-                        visaDurationLabel.setText(visaDuration);
-                        visaDurationLabel.setVisible(true);
-                        System.out.println("  ✓ Visa duration label visible: " + visaDuration);
-                    }
-                    if (approvedByLabel != null && approvedBy != null) {
-                        approvedByLabel.setText(approvedBy);
-                        approvedByLabel.setVisible(true);
-                        System.out.println("  ✓ Approved by label visible: " + approvedBy);
-                    }
-                    if (approvalDateLabel != null && approvalDate != null) {
-                        approvalDateLabel.setText(approvalDate);
-                        approvalDateLabel.setVisible(true);
-                        System.out.println("  ✓ Approval date label visible: " + approvalDate);
-                    }
-                    
-                    // Show visa conditions box
-                    if (visaConditionsBox != null) {
-                        visaConditionsBox.setVisible(true);
-                        visaConditionsBox.setManaged(true);
-                        System.out.println("  ✓ Visa conditions box visible");
-                    }
-                } else {
-                    System.out.println("⚠ Application status is: " + currentStatus + " - hiding approval details");
-                    
-                    // Hide approval details if not approved
-                    if (visaDurationLabel != null) visaDurationLabel.setVisible(false);
-                    if (approvedByLabel != null) approvedByLabel.setVisible(false);
-                    if (approvalDateLabel != null) approvalDateLabel.setVisible(false);
-                    if (visaConditionsBox != null) {
-                        visaConditionsBox.setVisible(false);
-                        visaConditionsBox.setManaged(false);
-                    }
+            },
+            e -> LOG.warn("Automatic refresh of application data failed", e));
+    }
+    
+    private void showProfile(DatabaseManager.ApplicantProfile profile) {
+        if (profile != null) {
+            applicationIdLabel.setText(profile.getApplicationId());
+
+            // Set status with color
+            currentStatus = profile.getStatus();
+            visaType = profile.getVisaType();
+
+            LOG.debug("Found application in database");
+            LOG.debug(() -> "Current Status: " + currentStatus);
+            LOG.debug(() -> "Visa Type: " + visaType);
+
+            String visaDuration = profile.getVisaDuration();
+            String approvedBy = profile.getApprovedBy();
+            String approvalDate = profile.getApprovalDate();
+
+            LOG.debug(() -> "Visa Duration: " + (visaDuration != null ? visaDuration : "N/A"));
+            LOG.debug(() -> "Approved By: " + (approvedBy != null ? approvedBy : "N/A"));
+            LOG.debug(() -> "Approval Date: " + (approvalDate != null ? approvalDate : "N/A"));
+
+            statusLabel.setText(currentStatus);
+            switch (currentStatus) {
+                case "Processing":
+                    statusLabel.setStyle("-fx-text-fill: #FF9800; -fx-font-weight: bold;");
+                    break;
+                case "Approved":
+                    statusLabel.setStyle("-fx-text-fill: #4CAF50; -fx-font-weight: bold;");
+                    break;
+                case "Rejected":
+                    statusLabel.setStyle("-fx-text-fill: #f44336; -fx-font-weight: bold;");
+                    break;
+            }
+
+            countryLabel.setText(profile.getCountry());
+            visaTypeLabel.setText(visaType);
+            fullNameLabel.setText(profile.getFirstName() + " " + profile.getLastName());
+            nationalityLabel.setText(profile.getNationality());
+            emailLabel.setText(profile.getEmail());
+            phoneLabel.setText(profile.getPhone());
+            appliedDateLabel.setText(profile.getCreatedAt());
+
+            // Show visa duration and approval info if approved
+            if ("Approved".equals(currentStatus)) {
+                LOG.debug("Application is APPROVED - showing approval details");
+
+                if (visaDurationLabel != null && visaDuration != null) {
+                    visaDurationLabel.setText(visaDuration);
+                    visaDurationLabel.setVisible(true);
+                    LOG.debug(() -> "Visa duration label visible: " + visaDuration);
+                }
+                if (approvedByLabel != null && approvedBy != null) {
+                    approvedByLabel.setText(approvedBy);
+                    approvedByLabel.setVisible(true);
+                    LOG.debug(() -> "Approved by label visible: " + approvedBy);
+                }
+                if (approvalDateLabel != null && approvalDate != null) {
+                    approvalDateLabel.setText(approvalDate);
+                    approvalDateLabel.setVisible(true);
+                    LOG.debug(() -> "Approval date label visible: " + approvalDate);
+                }
+
+                // Show visa conditions box
+                if (visaConditionsBox != null) {
+                    visaConditionsBox.setVisible(true);
+                    visaConditionsBox.setManaged(true);
+                    LOG.debug("Visa conditions box visible");
                 }
-                
-                // Update message button visibility
-                updateMessageButtonVisibility();
-                
-                System.out.println("╚════════════════════════════════════════════════════════════╝");
             } else {
-                System.err.println("✗ Application not found in database!");
-                System.out.println("╚════════════════════════════════════════════════════════════╝");
+                LOG.debug(() -> "Application status is: " + currentStatus + " - hiding approval details");
+
+                // Hide approval details if not approved
+                if (visaDurationLabel != null) visaDurationLabel.setVisible(false);
+                if (approvedByLabel != null) approvedByLabel.setVisible(false);
+                if (approvalDateLabel != null) approvalDateLabel.setVisible(false);
+                if (visaConditionsBox != null) {
+                    visaConditionsBox.setVisible(false);
+                    visaConditionsBox.setManaged(false);
+                }
             }
-            
-        } catch (SQLException e) {
-            System.err.println("✗ Database error loading application data: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("╚════════════════════════════════════════════════════════════╝");
-            showError("Failed to load application data: " + e.getMessage());
+
+            // Update message button visibility
+            updateMessageButtonVisibility();
+
+        } else {
+            LOG.warn("Application not found in database");
         }
     }
     
     @FXML
     private void handleRefresh() {
-        System.out.println("Applicant dashboard refresh triggered for: " + applicantId);
+        LOG.debug(() -> "Applicant dashboard refresh triggered for: " + applicantId);
         loadApplicationData();
-        System.out.println("Applicant dashboard refresh completed. Current status: " + currentStatus);
     }
     
     private void updateMessageButtonVisibility() {
@@ -180,7 +201,7 @@ public class ApplicantDashboardController {
             boolean isProcessing = "Processing".equals(currentStatus);
             messageButton.setVisible(isProcessing);
             messageButton.setManaged(isProcessing);
-            System.out.println("Message button visibility: " + (isProcessing ? "VISIBLE" : "HIDDEN") + " (Status: " + currentStatus + ")");
+            LOG.debug(() -> "Message button visibility: " + (isProcessing ? "VISIBLE" : "HIDDEN") + " (Status: " + currentStatus + ")");
         }
     }
     
@@ -213,15 +234,24 @@ public class ApplicantDashboardController {
             }
             
             DatabaseManager dbManager = DatabaseManager.getInstance();
-            if (dbManager.sendApplicantMessage(applicantId, message)) {
-                Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
-                successAlert.setTitle("Success");
-                successAlert.setHeaderText("Message Sent");
-                successAlert.setContentText("Your message has been sent to the admin successfully.\n\nYou will be notified once the admin responds.");
-                successAlert.showAndWait();
-            } else {
+            String id = applicantId;
+            messageButton.setDisable(true);
+            messageRequest.submit(() -> dbManager.sendApplicantMessage(id, message), sent -> {
+                messageButton.setDisable(false);
+                if (sent) {
+                    Alert successAlert = new Alert(Alert.AlertType.INFORMATION);
+                    successAlert.setTitle("Success");
+                    successAlert.setHeaderText("Message Sent");
+                    successAlert.setContentText("Your message has been sent to the admin successfully.\n\nYou will be notified once the admin responds.");
+                    successAlert.showAndWait();
+                } else {
+                    showError("Failed to send message. Please try again.");
+                }
+            }, e -> {
+                messageButton.setDisable(false);
+                LOG.error("Error sending message", e);
                 showError("Failed to send message. Please try again.");
-            }
+            });
         }
     }
     
@@ -238,6 +268,9 @@ public class ApplicantDashboardController {
     
     @FXML
     private void handleLogout() {
+        DatabaseManager.getInstance().getChangeWatchService().removeListener(changeListener);
+        profileRequest.cancel();
+        messageRequest.cancel();
         VisaApplicationSession.getInstance().clear();
         VisaManagementApp.changeScene("/fxml/home.fxml", "Visa Management & Processing System");
     }
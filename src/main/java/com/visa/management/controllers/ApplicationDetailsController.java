@@ -2,10 +2,13 @@ package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
 import com.visa.management.database.DatabaseManager;
+import com.visa.management.documents.DocumentStore;
+import com.visa.management.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.Label;
 import javafx.scene.control.Alert;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
@@ -14,12 +17,10 @@ import javafx.scene.layout.FlowPane;
 import javafx.stage.Stage;
 import javafx.scene.Scene;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class ApplicationDetailsController {
+    private static final Logger LOG = Logger.get(ApplicationDetailsController.class);
 
     @FXML private Label applicationIdLabel;
     @FXML private Label statusLabel;
@@ -39,178 +40,170 @@ public class ApplicationDetailsController {
     @FXML private Label approvalDateLabel;
     @FXML private VBox visaSpecificDetailsBox;
     @FXML private VBox documentsBox;
+    @FXML private ProgressIndicator loadingIndicator;
     
+    private FxRequest<LoadedDetails> detailsRequest;
+    private FxRequest<java.util.List<DatabaseManager.TravelHistory>> historyRequest;
     private String applicationId;
     private String currentNationalId;
     private String currentPassport;
     private String currentNationality;
     
     public void setApplicationId(String applicationId) {
-        System.out.println("╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║     APPLICATION DETAILS CONTROLLER                         ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
-        System.out.println("Setting Application ID: " + applicationId);
+        LOG.debug(() -> "Showing application details for " + applicationId);
         this.applicationId = applicationId;
         loadApplicationDetails();
     }
     
     @FXML
     public void initialize() {
-        System.out.println("ApplicationDetailsController initialized");
+        LOG.debug("ApplicationDetailsController initialized");
+        detailsRequest = new FxRequest<>(loadingIndicator);
+        historyRequest = new FxRequest<>(loadingIndicator);
         // Will be called before setApplicationId
     }
     
     private void loadApplicationDetails() {
-        System.out.println("Loading application details for: " + applicationId);
+        LOG.debug(() -> "Loading application details for: " + applicationId);
+        String requestedId = applicationId;
+        
+        detailsRequest.submit(
+            () -> queryApplicationDetails(requestedId),
+            details -> {
+                if (details == null) {
+                    LOG.warn("Application not found in database");
+                    showError("Application not found!");
+                    return;
+                }
+                showApplicationDetails(details);
+            },
+            e -> {
+                LOG.error("Error loading application details", e);
+                showError("Failed to load application details: " + e.getMessage());
+            });
+    }
+    
+    // Runs on a background thread; returns null if the application does not exist
+    private LoadedDetails queryApplicationDetails(String requestedId) throws SQLException {
         DatabaseManager dbManager = DatabaseManager.getInstance();
+        LoadedDetails details = new LoadedDetails();
+        details.record = dbManager.findApplicationRecord(requestedId);
+        if (details.record == null) {
+            return null;
+        }
+        LOG.debug("Application found in database");
         
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT * FROM applicants WHERE application_id = ?")) {
-            
-            stmt.setString(1, applicationId);
-            ResultSet rs = stmt.executeQuery();
-            
-            if (rs.next()) {
-                System.out.println("✓ Application found in database");
-                
-                applicationIdLabel.setText(rs.getString("application_id"));
-                firstNameLabel.setText(rs.getString("first_name"));
-                lastNameLabel.setText(rs.getString("last_name"));
-                nationalIdLabel.setText(rs.getString("national_id"));
-                nationalityLabel.setText(rs.getString("nationality"));
-                passportLabel.setText(rs.getString("passport"));
-                emailLabel.setText(rs.getString("email"));
-                phoneLabel.setText(rs.getString("phone"));
-                addressLabel.setText(rs.getString("address"));
-                countryLabel.setText(rs.getString("country"));
-                visaTypeLabel.setText(rs.getString("visa_type"));
-                appliedDateLabel.setText(rs.getString("created_at"));
-                
-                // Store for travel history lookup
-                currentNationalId = rs.getString("national_id");
-                currentPassport = rs.getString("passport");
-                currentNationality = rs.getString("nationality");
-                
-                System.out.println("✓ Basic info loaded");
-                
-                String status = rs.getString("status");
-                statusLabel.setText(status);
+        details.visaFields = dbManager.getVisaDetails(requestedId);
+        details.documents = dbManager.getDocuments(requestedId);
+        return details;
+    }
+    
+    private void showApplicationDetails(LoadedDetails details) {
+        DatabaseManager.ApplicationRecord row = details.record;
+        
+        applicationIdLabel.setText(row.getApplicationId());
+        firstNameLabel.setText(row.getFirstName());
+        lastNameLabel.setText(row.getLastName());
+        nationalIdLabel.setText(row.getNationalId());
+        nationalityLabel.setText(row.getNationality());
+        passportLabel.setText(row.getPassport());
+        emailLabel.setText(row.getEmail());
+        phoneLabel.setText(row.getPhone());
+        addressLabel.setText(row.getAddress());
+        countryLabel.setText(row.getCountry());
+        visaTypeLabel.setText(row.getVisaType());
+        appliedDateLabel.setText(row.getCreatedAt());
+        
+        // Store for travel history lookup
+        currentNationalId = row.getNationalId();
+        currentPassport = row.getPassport();
+        currentNationality = row.getNationality();
+        
+        LOG.debug("Basic info loaded");
+        
+        String status = row.getStatus();
+        statusLabel.setText(status);
+        
+        LOG.debug(() -> "Status: " + status);
+        
+        // Set status color
+        switch (status) {
+            case "Processing":
+                statusLabel.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
+                break;
+            case "Approved":
+                statusLabel.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
                 
-                System.out.println("✓ Status: " + status);
+                // Show approval details
+                String duration = row.getVisaDuration();
+                String approvedBy = row.getApprovedBy();
+                String approvalDate = row.getApprovalDate();
                 
-                // Set status color
-                switch (status) {
-                    case "Processing":
-                        statusLabel.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        break;
-                    case "Approved":
-                        statusLabel.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        
-                        // Show approval details
-                        String duration = rs.getString("visa_duration");
-                        String approvedBy = rs.getString("approved_by");
-                        String approvalDate = rs.getString("approval_date");
-                        
-                        if (duration != null) {
-                            visaDurationLabel.setText(duration);
-                            visaDurationLabel.setVisible(true);
-                        }
-                        if (approvedBy != null) {
-                            approvedByLabel.setText(approvedBy);
-                            approvedByLabel.setVisible(true);
-                        }
-                        if (approvalDate != null) {
-                            approvalDateLabel.setText(approvalDate);
-                            approvalDateLabel.setVisible(true);
-                        }
-                        break;
-                    case "Rejected":
-                        statusLabel.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        break;
+                if (duration != null) {
+                    visaDurationLabel.setText(duration);
+                    visaDurationLabel.setVisible(true);
                 }
-                
-                System.out.println("✓ Loading visa-specific details...");
-                // Load visa-specific details
-                loadVisaSpecificDetails();
-                
-                System.out.println("✓ Application details loaded successfully");
-                
-            } else {
-                System.err.println("✗ Application not found in database!");
-                showError("Application not found!");
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("✗ SQL Error: " + e.getMessage());
-            e.printStackTrace();
-            showError("Failed to load application details: " + e.getMessage());
-        } catch (Exception e) {
-            System.err.println("✗ Unexpected Error: " + e.getMessage());
-            e.printStackTrace();
-            showError("Unexpected error: " + e.getMessage());
+                if (approvedBy != null) {
+                    approvedByLabel.setText(approvedBy);
+                    approvedByLabel.setVisible(true);
+                }
+                if (approvalDate != null) {
+                    approvalDateLabel.setText(approvalDate);
+                    approvalDateLabel.setVisible(true);
+                }
+                break;
+            case "Rejected":
+                statusLabel.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
+                break;
         }
+        
+        LOG.debug("Loading visa-specific details...");
+        // Load visa-specific details
+        showVisaSpecificDetails(details.visaFields);
+        
+        // Load documents info
+        showDocumentsInfo(details.documents);
+        
+        LOG.debug("Application details loaded successfully");
     }
     
-    private void loadVisaSpecificDetails() {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT field_name, field_value FROM visa_details WHERE application_id = ? ORDER BY field_name")) {
+    private void showVisaSpecificDetails(java.util.Map<String, String> visaFields) {
+        // Clear existing content
+        if (visaSpecificDetailsBox != null) {
+            visaSpecificDetailsBox.getChildren().clear();
             
-            stmt.setString(1, applicationId);
-            ResultSet rs = stmt.executeQuery();
+            FlowPane flowPane = new FlowPane();
+            flowPane.setHgap(25);
+            flowPane.setVgap(18);
+            flowPane.setPrefWrapLength(1300); // Wrap at 1300px
             
-            // Clear existing content
-            if (visaSpecificDetailsBox != null) {
-                visaSpecificDetailsBox.getChildren().clear();
-                
-                boolean hasDetails = false;
-                FlowPane flowPane = new FlowPane();
-                flowPane.setHgap(25);
-                flowPane.setVgap(18);
-                flowPane.setPrefWrapLength(1300); // Wrap at 1300px
+            for (java.util.Map.Entry<String, String> field : visaFields.entrySet()) {
+                String fieldName = field.getKey();
+                String fieldValue = field.getValue();
                 
-                while (rs.next()) {
-                    hasDetails = true;
-                    String fieldName = rs.getString("field_name");
-                    String fieldValue = rs.getString("field_value");
-                    
-                    if (fieldValue != null && !fieldValue.trim().isEmpty()) {
-                        VBox fieldBox = createFieldBox(formatFieldName(fieldName), fieldValue);
-                        fieldBox.setMinWidth(300);
-                        fieldBox.setMaxWidth(350);
-                        flowPane.getChildren().add(fieldBox);
-                    }
-                }
-                
-                if (hasDetails) {
-                    visaSpecificDetailsBox.getChildren().add(flowPane);
-                    visaSpecificDetailsBox.setVisible(true);
-                    visaSpecificDetailsBox.setManaged(true);
-                } else {
-                    visaSpecificDetailsBox.setVisible(false);
-                    visaSpecificDetailsBox.setManaged(false);
+                if (fieldValue != null && !fieldValue.trim().isEmpty()) {
+                    VBox fieldBox = createFieldBox(formatFieldName(fieldName), fieldValue);
+                    fieldBox.setMinWidth(300);
+                    fieldBox.setMaxWidth(350);
+                    flowPane.getChildren().add(fieldBox);
                 }
             }
             
-            // Load documents info
-            loadDocumentsInfo();
-            
-        } catch (SQLException e) {
-            System.err.println("Error loading visa-specific details: " + e.getMessage());
+            if (!visaFields.isEmpty()) {
+                visaSpecificDetailsBox.getChildren().add(flowPane);
+                visaSpecificDetailsBox.setVisible(true);
+                visaSpecificDetailsBox.setManaged(true);
+            } else {
+                visaSpecificDetailsBox.setVisible(false);
+                visaSpecificDetailsBox.setManaged(false);
+            }
         }
     }
     
-    private void loadDocumentsInfo() {
+    private void showDocumentsInfo(java.util.List<DatabaseManager.DocumentInfo> documents) {
         if (documentsBox != null) {
             documentsBox.getChildren().clear();
             
-            // Get documents from database
-            DatabaseManager dbManager = DatabaseManager.getInstance();
-            java.util.List<DatabaseManager.DocumentInfo> documents = dbManager.getDocuments(applicationId);
-            
             if (documents.isEmpty()) {
                 // No documents uploaded
                 Label noDocLabel = new Label("📎 No Documents Uploaded");
@@ -254,9 +247,16 @@ public class ApplicationDetailsController {
         // View button
         javafx.scene.control.Button viewBtn = new javafx.scene.control.Button("View File");
         viewBtn.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-font-size: 11px; -fx-padding: 5 15;");
-        viewBtn.setOnAction(e -> openDocument(doc.getFilePath()));
+        viewBtn.setOnAction(e -> openDocument(doc));
         
         box.getChildren().addAll(filenameLabel, infoLabel, dateLabel, viewBtn);
+        
+        // Inline thumbnail for images, decoded in the background
+        if (DocumentViewer.canPreview(doc)) {
+            javafx.scene.layout.StackPane thumbnail = DocumentViewer.thumbnail(doc);
+            thumbnail.setOnMouseClicked(e -> openDocument(doc));
+            box.getChildren().add(0, thumbnail);
+        }
         return box;
     }
     
@@ -266,22 +266,33 @@ public class ApplicationDetailsController {
         return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
     }
     
-    private void openDocument(String filePath) {
+    private void openDocument(DatabaseManager.DocumentInfo doc) {
+        if (DocumentViewer.canPreview(doc)) {
+            DocumentViewer.show(doc);
+            return;
+        }
+        
+        String filePath = doc.getFilePath();
         try {
             java.io.File file = new java.io.File(filePath);
+            if (file.exists() && doc.getBlobHash() != null) {
+                // Stored blobs are named by hash; give the viewer a copy with the original name and extension
+                file = DocumentStore.viewableCopy(file.toPath(), doc.getFilename()).toFile();
+            }
             if (file.exists()) {
                 // Open file with default system application
                 if (java.awt.Desktop.isDesktopSupported()) {
                     java.awt.Desktop.getDesktop().open(file);
                 } else {
-                    showAlert("Error", "Cannot open file on this system.", javafx.scene.control.Alert.AlertType.ERROR);
+                    showAlert("Error", "Only images can be previewed on this system. File: " + filePath,
+                            javafx.scene.control.Alert.AlertType.ERROR);
                 }
             } else {
                 showAlert("Error", "File not found: " + filePath, javafx.scene.control.Alert.AlertType.ERROR);
             }
         } catch (Exception e) {
+            LOG.error("Failed to open document " + filePath, e);
             showAlert("Error", "Failed to open document: " + e.getMessage(), javafx.scene.control.Alert.AlertType.ERROR);
-            e.printStackTrace();
         }
     }
     
@@ -319,13 +330,12 @@ public class ApplicationDetailsController {
     
     @FXML
     private void handleBack() {
-        System.out.println("Going back to Admin Dashboard...");
+        LOG.debug("Going back to Admin Dashboard...");
         // Session should still have admin info, so just change scene
         VisaManagementApp.changeScene("/fxml/admin-dashboard.fxml", "Admin Dashboard");
     }
     
     @FXML
-    @SuppressWarnings("unchecked")
     private void handleViewTravelHistory() {
         if (currentNationalId == null || currentPassport == null || currentNationality == null) {
             showAlert("Error", "Cannot retrieve travel history. Application data not loaded.", Alert.AlertType.ERROR);
@@ -333,8 +343,21 @@ public class ApplicationDetailsController {
         }
         
         DatabaseManager dbManager = DatabaseManager.getInstance();
-        java.util.List<DatabaseManager.TravelHistory> history = dbManager.getTravelHistory(currentNationalId, currentPassport, currentNationality);
-        
+        String nationalId = currentNationalId;
+        String passport = currentPassport;
+        String nationality = currentNationality;
+        historyRequest.submit(
+            () -> dbManager.getTravelHistory(nationalId, passport, nationality),
+            history -> showTravelHistory(nationalId, passport, nationality, history),
+            e -> {
+                LOG.error("Error loading travel history", e);
+                showError("Failed to load travel history: " + e.getMessage());
+            });
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void showTravelHistory(String nationalId, String passport, String nationality,
+                                   java.util.List<DatabaseManager.TravelHistory> history) {
         // Create table view
         TableView<DatabaseManager.TravelHistory> table = new TableView<>();
         table.setPrefWidth(900);
@@ -378,7 +401,7 @@ public class ApplicationDetailsController {
         
         // Create dialog
         Stage dialog = new Stage();
-        dialog.setTitle("Complete Travel History - " + currentNationalId);
+        dialog.setTitle("Complete Travel History - " + nationalId);
         
         VBox layout = new VBox(15);
         layout.setPadding(new Insets(20));
@@ -387,7 +410,7 @@ public class ApplicationDetailsController {
         Label titleLabel = new Label("🌍 Complete Visa Application History (All Countries)");
         titleLabel.setStyle("-fx-font-size: 18px; -fx-font-weight: bold; -fx-text-fill: #1976D2;");
         
-        Label infoLabel = new Label("Showing all visa applications | Nationality: " + currentNationality + " | NID: " + currentNationalId + " | Passport: " + currentPassport);
+        Label infoLabel = new Label("Showing all visa applications | Nationality: " + nationality + " | NID: " + nationalId + " | Passport: " + passport);
         infoLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
         
         if (history.isEmpty()) {
@@ -420,4 +443,11 @@ public class ApplicationDetailsController {
         alert.setContentText(message);
         alert.showAndWait();
     }
+    
+    // Everything the details screen shows, fetched in one background pass
+    private static class LoadedDetails {
+        private DatabaseManager.ApplicationRecord record;
+        private java.util.Map<String, String> visaFields;
+        private java.util.List<DatabaseManager.DocumentInfo> documents;
+    }
 }
@@ -1,16 +1,29 @@
 package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
+import com.visa.management.database.ApplicationSubmission;
 import com.visa.management.database.DatabaseManager;
+import com.visa.management.documents.DocumentStore.StoredBlob;
+import com.visa.management.documents.DocumentUpload;
+import com.visa.management.logging.Logger;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class ApplyVisaController {
+public class ApplyVisaController implements Resettable {
+    private static final Logger LOG = Logger.get(ApplyVisaController.class);
 
     @FXML
     private TextField firstNameField;
@@ -113,7 +126,32 @@ public class ApplyVisaController {
     @FXML
     private TextField salaryField;
 
+    @FXML
+    private Button submitButton;
+    @FXML
+    private ProgressIndicator submitIndicator;
+    
+    // Document upload progress
+    @FXML
+    private VBox uploadProgressBox;
+    @FXML
+    private ProgressBar uploadProgressBar;
+    @FXML
+    private Label uploadProgressLabel;
+    @FXML
+    private Button cancelUploadButton;
+    @FXML
+    private VBox uploadFilesBox;
+    
     private List<File> selectedFiles;
+    private FxRequest<SubmitOutcome> submitRequest;
+    // Upload of the submission in progress (set from the background task)
+    private volatile DocumentUpload activeUpload;
+    // Set when the user leaves the screen; the background task checks it before each step
+    private AtomicBoolean submissionCancelled = new AtomicBoolean();
+    private final List<ProgressBar> fileProgressBars = new ArrayList<>();
+    // Coalesces progress callbacks from the copy threads into one UI refresh per pulse
+    private final AtomicBoolean progressRefreshPending = new AtomicBoolean();
 
     @FXML
     private void handleSubmit() {
@@ -136,10 +174,178 @@ public class ApplyVisaController {
             return;
         }
         
+        // Snapshot everything the background task needs while still on the FX thread
+        String validationError = validateCountryRules(country, visaType);
+        ApplicationSubmission submission = new ApplicationSubmission(
+            firstNameField.getText().trim(),
+            lastNameField.getText().trim(),
+            nationalId,
+            nationality,
+            passport,
+            emailField.getText().trim(),
+            phoneField.getText().trim(),
+            addressArea.getText().trim(),
+            country,
+            visaType,
+            collectVisaSpecificDetails(visaType),
+            selectedFiles == null ? List.of() : selectedFiles
+        );
+        
         DatabaseManager dbManager = DatabaseManager.getInstance();
+        submitButton.setDisable(true);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        submissionCancelled = cancelled;
         
-        // Check for existing application (duplicate prevention)
-        DatabaseManager.ApplicationInfo existingApp = dbManager.checkExistingApplication(nationalId, passport, country);
+        submitRequest.submit(() -> {
+            SubmitOutcome outcome = new SubmitOutcome(submission.getEmail());
+            
+            // Check for existing application (duplicate prevention)
+            outcome.existingApp = dbManager.checkExistingApplication(nationalId, passport, country);
+            if (outcome.existingApp != null) {
+                return outcome;
+            }
+            
+            // Check if applicant is banned from reapplying
+            outcome.rejectionBan = dbManager.checkRejectionBan(nationalId, passport, country);
+            if (outcome.rejectionBan.isBanned() || validationError != null) {
+                return outcome;
+            }
+            
+            // Copy the documents in parallel first; cancelling stops the copies and saves nothing
+            if (cancelled.get()) {
+                throw new CancellationException("Submission cancelled");
+            }
+            DocumentUpload upload = dbManager.uploadDocuments(submission.getDocuments(), this::scheduleUploadRefresh);
+            activeUpload = upload;
+            if (cancelled.get()) {
+                upload.cancel(); // Left the screen before the upload was visible to cancelSubmission()
+            }
+            Platform.runLater(() -> {
+                if (!cancelled.get()) {
+                    showUploadProgress(upload);
+                }
+            });
+            List<StoredBlob> blobs = upload.result().join();
+            if (cancelled.get()) {
+                dbManager.discardDocuments(blobs);
+                throw new CancellationException("Submission cancelled");
+            }
+            Platform.runLater(() -> {
+                if (!cancelled.get()) {
+                    cancelUploadButton.setDisable(true);
+                    uploadProgressLabel.setText("Saving application...");
+                }
+            });
+            
+            // Applicant, visa details and documents are saved together or not at all
+            outcome.credentials = dbManager.submitApplication(submission, blobs);
+            return outcome;
+        }, outcome -> {
+            submitButton.setDisable(false);
+            hideUploadProgress();
+            showSubmitOutcome(outcome, country, validationError);
+        }, error -> {
+            submitButton.setDisable(false);
+            hideUploadProgress();
+            if (error instanceof CancellationException) {
+                showAlert("Upload Cancelled", "The document upload was cancelled. Your application was not submitted.",
+                        Alert.AlertType.INFORMATION);
+                return;
+            }
+            LOG.error("Error submitting application", error);
+            showAlert("Error", "Failed to submit application. Please try again.", Alert.AlertType.ERROR);
+        });
+    }
+    
+    @FXML
+    private void handleCancelUpload() {
+        DocumentUpload upload = activeUpload;
+        if (upload != null) {
+            upload.cancel();
+            cancelUploadButton.setDisable(true);
+            uploadProgressLabel.setText("Cancelling...");
+        }
+    }
+    
+    // Abandon the submission in flight: the background task stops before its next step and saves nothing
+    private void cancelSubmission() {
+        submissionCancelled.set(true);
+        DocumentUpload upload = activeUpload;
+        if (upload != null) {
+            upload.cancel();
+        }
+        submitRequest.cancel();
+        hideUploadProgress();
+        submitButton.setDisable(false);
+    }
+    
+    private void showUploadProgress(DocumentUpload upload) {
+        if (upload != activeUpload || upload.getFileCount() == 0) {
+            return;
+        }
+        uploadFilesBox.getChildren().clear();
+        fileProgressBars.clear();
+        for (int i = 0; i < upload.getFileCount(); i++) {
+            Label name = new Label(upload.getFile(i).getName());
+            name.setMinWidth(240);
+            name.setMaxWidth(240);
+            ProgressBar bar = new ProgressBar(0);
+            bar.setPrefWidth(200);
+            HBox row = new HBox(10, name, bar, new Label(formatMegabytes(upload.getFileSize(i))));
+            row.setAlignment(Pos.CENTER_LEFT);
+            uploadFilesBox.getChildren().add(row);
+            fileProgressBars.add(bar);
+        }
+        cancelUploadButton.setDisable(false);
+        uploadProgressBox.setVisible(true);
+        uploadProgressBox.setManaged(true);
+        refreshUploadProgress(upload);
+    }
+    
+    // Called on copy threads
+    private void scheduleUploadRefresh(DocumentUpload upload) {
+        if (progressRefreshPending.compareAndSet(false, true)) {
+            Platform.runLater(() -> {
+                progressRefreshPending.set(false);
+                if (upload == activeUpload) {
+                    refreshUploadProgress(upload);
+                }
+            });
+        }
+    }
+    
+    private void refreshUploadProgress(DocumentUpload upload) {
+        int done = 0;
+        for (int i = 0; i < upload.getFileCount() && i < fileProgressBars.size(); i++) {
+            long size = upload.getFileSize(i);
+            long copied = upload.getCopiedBytes(i);
+            fileProgressBars.get(i).setProgress(size == 0 ? (copied > 0 ? 1 : 0) : (double) copied / size);
+            if (copied >= size) {
+                done++;
+            }
+        }
+        long total = upload.getTotalBytes();
+        uploadProgressBar.setProgress(total == 0 ? 1 : (double) upload.getCopiedBytes() / total);
+        if (!cancelUploadButton.isDisabled()) {
+            uploadProgressLabel.setText(formatMegabytes(upload.getCopiedBytes()) + " of " + formatMegabytes(total) +
+                    " (" + done + "/" + upload.getFileCount() + " files)");
+        }
+    }
+    
+    private void hideUploadProgress() {
+        activeUpload = null;
+        uploadProgressBox.setVisible(false);
+        uploadProgressBox.setManaged(false);
+        uploadFilesBox.getChildren().clear();
+        fileProgressBars.clear();
+    }
+    
+    private static String formatMegabytes(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+    
+    private void showSubmitOutcome(SubmitOutcome outcome, String country, String validationError) {
+        DatabaseManager.ApplicationInfo existingApp = outcome.existingApp;
         if (existingApp != null) {
             String duplicateMessage = "⚠️ DUPLICATE APPLICATION DETECTED\n\n" +
                                     "You already have an active application for " + country + ".\n\n" +
@@ -154,9 +360,7 @@ public class ApplyVisaController {
             return;
         }
         
-        // Check if applicant is banned from reapplying
-        DatabaseManager.RejectionBan rejectionBan = dbManager.checkRejectionBan(nationalId, passport, country);
-        
+        DatabaseManager.RejectionBan rejectionBan = outcome.rejectionBan;
         if (rejectionBan.isBanned()) {
             String banMessage = "⛔ APPLICATION REJECTED\n\n" +
                               "You cannot apply for a visa to " + country + " at this time.\n\n" +
@@ -171,36 +375,12 @@ public class ApplyVisaController {
         }
         
         // Validate country-specific rules
-        String validationError = validateCountryRules(country, visaType);
         if (validationError != null) {
             showAlert("Application Restriction", validationError, Alert.AlertType.ERROR);
             return;
         }
-
-        // Save to database and get credentials
-        DatabaseManager.ApplicationCredentials credentials = dbManager.createApplicant(
-            firstNameField.getText().trim(),
-            lastNameField.getText().trim(),
-            nationalId,
-            nationalityCombo.getValue(),
-            passport,
-            emailField.getText().trim(),
-            phoneField.getText().trim(),
-            addressArea.getText().trim(),
-            country,
-            visaType
-        );
-        
-        if (credentials == null) {
-            showAlert("Error", "Failed to submit application. Please try again.", Alert.AlertType.ERROR);
-            return;
-        }
         
-        // Save additional visa-specific details
-        saveVisaSpecificDetails(credentials.getApplicationId(), visaType);
-        
-        // Save uploaded documents
-        saveDocuments(credentials.getApplicationId());
+        DatabaseManager.ApplicationCredentials credentials = outcome.credentials;
         
         // Show success message with credentials
         showAlert("Application Submitted Successfully!", 
@@ -212,7 +392,7 @@ public class ApplyVisaController {
                   "⚠️ IMPORTANT: Please save these credentials!\n" +
                   "You can use them to login and check your application status.\n\n" +
                   "Status: Processing\n" +
-                  "Email: " + emailField.getText(), 
+                  "Email: " + outcome.email, 
                   Alert.AlertType.INFORMATION);
         
         clearForm();
@@ -222,96 +402,44 @@ public class ApplyVisaController {
         VisaManagementApp.changeScene("/fxml/home.fxml", "Visa Management & Processing System");
     }
     
-    private void saveVisaSpecificDetails(String applicationId, String visaType) {
-        DatabaseManager dbManager = DatabaseManager.getInstance();
+    // Reads the visa-specific form fields in the order they are stored
+    private Map<String, String> collectVisaSpecificDetails(String visaType) {
+        Map<String, String> details = new LinkedHashMap<>();
         
-        // Save common fields
-        dbManager.saveVisaDetail(applicationId, "travel_history", travelHistoryCombo.getValue());
-        dbManager.saveVisaDetail(applicationId, "previous_travel", previousTravelArea.getText());
+        // Common fields
+        details.put("travel_history", travelHistoryCombo.getValue());
+        details.put("previous_travel", previousTravelArea.getText());
         
-        // Save visa-type specific fields
+        // Visa-type specific fields
         if (visaType.contains("Tourist")) {
-            dbManager.saveVisaDetail(applicationId, "tourist_places", touristPlaceArea.getText());
-            dbManager.saveVisaDetail(applicationId, "hotel_pnr", hotelPnrField.getText());
-            dbManager.saveVisaDetail(applicationId, "flight_no", flightNoField.getText());
-            dbManager.saveVisaDetail(applicationId, "journey_date", journeyDatePicker.getValue() != null ? journeyDatePicker.getValue().toString() : "");
-            dbManager.saveVisaDetail(applicationId, "bank_name", bankNameField.getText());
-            dbManager.saveVisaDetail(applicationId, "account_number", accountNumberField.getText());
-            dbManager.saveVisaDetail(applicationId, "references", referencesArea.getText());
-            dbManager.saveVisaDetail(applicationId, "family_members", familyMembersArea.getText());
+            details.put("tourist_places", touristPlaceArea.getText());
+            details.put("hotel_pnr", hotelPnrField.getText());
+            details.put("flight_no", flightNoField.getText());
+            details.put("journey_date", journeyDatePicker.getValue() != null ? journeyDatePicker.getValue().toString() : "");
+            details.put("bank_name", bankNameField.getText());
+            details.put("account_number", accountNumberField.getText());
+            details.put("references", referencesArea.getText());
+            details.put("family_members", familyMembersArea.getText());
         } else if (visaType.contains("Medical")) {
-            dbManager.saveVisaDetail(applicationId, "diagnosis", diagnosisArea.getText());
-            dbManager.saveVisaDetail(applicationId, "hospital_details", hospitalDetailsArea.getText());
-            dbManager.saveVisaDetail(applicationId, "doctor_name", doctorNameField.getText());
-            dbManager.saveVisaDetail(applicationId, "appointment_date", appointmentDatePicker.getValue() != null ? appointmentDatePicker.getValue().toString() : "");
+            details.put("diagnosis", diagnosisArea.getText());
+            details.put("hospital_details", hospitalDetailsArea.getText());
+            details.put("doctor_name", doctorNameField.getText());
+            details.put("appointment_date", appointmentDatePicker.getValue() != null ? appointmentDatePicker.getValue().toString() : "");
         } else if (visaType.contains("Student")) {
-            dbManager.saveVisaDetail(applicationId, "university", universityField.getText());
-            dbManager.saveVisaDetail(applicationId, "program", programField.getText());
-            dbManager.saveVisaDetail(applicationId, "program_duration", programDurationField.getText());
-            dbManager.saveVisaDetail(applicationId, "program_start_date", programStartDatePicker.getValue() != null ? programStartDatePicker.getValue().toString() : "");
-            dbManager.saveVisaDetail(applicationId, "education_details", educationDetailsArea.getText());
+            details.put("university", universityField.getText());
+            details.put("program", programField.getText());
+            details.put("program_duration", programDurationField.getText());
+            details.put("program_start_date", programStartDatePicker.getValue() != null ? programStartDatePicker.getValue().toString() : "");
+            details.put("education_details", educationDetailsArea.getText());
         } else if (visaType.contains("Work")) {
-            dbManager.saveVisaDetail(applicationId, "company_name", companyNameField.getText());
-            dbManager.saveVisaDetail(applicationId, "company_address", companyAddressArea.getText());
-            dbManager.saveVisaDetail(applicationId, "job_position", jobPositionField.getText());
-            dbManager.saveVisaDetail(applicationId, "contract_duration", contractDurationField.getText());
-            dbManager.saveVisaDetail(applicationId, "employment_start_date", employmentStartDatePicker.getValue() != null ? employmentStartDatePicker.getValue().toString() : "");
-            dbManager.saveVisaDetail(applicationId, "salary", salaryField.getText());
+            details.put("company_name", companyNameField.getText());
+            details.put("company_address", companyAddressArea.getText());
+            details.put("job_position", jobPositionField.getText());
+            details.put("contract_duration", contractDurationField.getText());
+            details.put("employment_start_date", employmentStartDatePicker.getValue() != null ? employmentStartDatePicker.getValue().toString() : "");
+            details.put("salary", salaryField.getText());
         }
-    }
-    
-    private void saveDocuments(String applicationId) {
-        if (selectedFiles == null || selectedFiles.isEmpty()) {
-            System.out.println("No documents to save for application " + applicationId);
-            return;
-        }
-        
-        DatabaseManager dbManager = DatabaseManager.getInstance();
-        
-        // Create documents directory if it doesn't exist
-        java.io.File documentsDir = new java.io.File("documents");
-        if (!documentsDir.exists()) {
-            documentsDir.mkdir();
-        }
-        
-        // Create application-specific folder
-        java.io.File appDocDir = new java.io.File(documentsDir, applicationId);
-        if (!appDocDir.exists()) {
-            appDocDir.mkdir();
-        }
-        
-        // Copy and save each document
-        for (java.io.File file : selectedFiles) {
-            try {
-                // Copy file to application folder
-                java.io.File destFile = new java.io.File(appDocDir, file.getName());
-                java.nio.file.Files.copy(file.toPath(), destFile.toPath(), 
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                
-                // Get file info
-                String filename = file.getName();
-                String filePath = destFile.getAbsolutePath();
-                String fileType = getFileExtension(filename);
-                long fileSize = file.length();
-                
-                // Save to database
-                dbManager.saveDocument(applicationId, filename, filePath, fileType, fileSize);
-                
-                System.out.println("Saved document: " + filename + " (" + fileSize + " bytes)");
-                
-            } catch (java.io.IOException e) {
-                System.err.println("Error saving document " + file.getName() + ": " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
-    }
-    
-    private String getFileExtension(String filename) {
-        int lastDot = filename.lastIndexOf('.');
-        if (lastDot > 0 && lastDot < filename.length() - 1) {
-            return filename.substring(lastDot + 1).toLowerCase();
-        }
-        return "unknown";
+        return details;
     }
     
     private String validateCountryRules(String country, String visaType) {
@@ -357,6 +485,7 @@ public class ApplyVisaController {
 
     @FXML
     private void handleBackToHome() {
+        cancelSubmission();
         VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type");
     }
 
@@ -515,25 +644,8 @@ public class ApplyVisaController {
 
     @FXML
     private void initialize() {
-        System.out.println("ApplyVisaController - Initialize method called");
-        
-        // Get selected country and visa type from session
-        String selectedCountry = VisaApplicationSession.getInstance().getSelectedCountry();
-        String selectedVisaType = VisaApplicationSession.getInstance().getSelectedVisaType();
-        
-        System.out.println("Selected Country: " + selectedCountry);
-        System.out.println("Selected Visa Type: " + selectedVisaType);
-        
-        // Update info labels if they exist
-        if (countryInfoLabel != null && selectedCountry != null) {
-            countryInfoLabel.setText("Destination: " + selectedCountry);
-        }
-        if (visaTypeInfoLabel != null && selectedVisaType != null) {
-            visaTypeInfoLabel.setText("Visa Type: " + selectedVisaType);
-        }
-        
-        // Show only the relevant section based on visa type
-        showVisaTypeSection(selectedVisaType);
+        LOG.debug("ApplyVisaController - Initialize method called");
+        submitRequest = new FxRequest<>(submitIndicator);
         
         // Populate nationality combo box
         nationalityCombo.getItems().addAll(
@@ -595,7 +707,33 @@ public class ApplyVisaController {
             });
         }
 
-        System.out.println("Apply Visa screen initialized successfully");
+        LOG.debug("Apply Visa screen initialized successfully");
+    }
+    
+    @Override
+    public void reset() {
+        // Every visit starts a new application; one still running from the last visit is abandoned,
+        // so its outcome can never be reported against, or clear, the form of the next applicant
+        cancelSubmission();
+        clearForm();
+        
+        // Get selected country and visa type from session
+        String selectedCountry = VisaApplicationSession.getInstance().getSelectedCountry();
+        String selectedVisaType = VisaApplicationSession.getInstance().getSelectedVisaType();
+        
+        LOG.debug(() -> "Selected Country: " + selectedCountry);
+        LOG.debug(() -> "Selected Visa Type: " + selectedVisaType);
+        
+        // Update info labels if they exist
+        if (countryInfoLabel != null && selectedCountry != null) {
+            countryInfoLabel.setText("Destination: " + selectedCountry);
+        }
+        if (visaTypeInfoLabel != null && selectedVisaType != null) {
+            visaTypeInfoLabel.setText("Visa Type: " + selectedVisaType);
+        }
+        
+        // Show only the relevant section based on visa type
+        showVisaTypeSection(selectedVisaType);
     }
     
     private void showVisaTypeSection(String visaType) {
@@ -634,4 +772,17 @@ public class ApplyVisaController {
             workSection.setManaged(true);
         }
     }
+    
+    // Result of the background submission; at most one of the checks short-circuits it
+    private static class SubmitOutcome {
+        // As submitted; the form may have been cleared by the time the outcome is shown
+        private final String email;
+        private DatabaseManager.ApplicationInfo existingApp;
+        private DatabaseManager.RejectionBan rejectionBan;
+        private DatabaseManager.ApplicationCredentials credentials;
+
+        SubmitOutcome(String email) {
+            this.email = email;
+        }
+    }
 }
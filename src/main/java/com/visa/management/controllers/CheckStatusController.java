@@ -2,6 +2,7 @@ package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
 import com.visa.management.database.DatabaseManager;
+import com.visa.management.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Label;
@@ -9,12 +10,8 @@ import javafx.scene.control.TextField;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-
-public class CheckStatusController {
+public class CheckStatusController implements Resettable {
+    private static final Logger LOG = Logger.get(CheckStatusController.class);
 
     @FXML
     private TextField applicationIdField;
@@ -58,6 +55,8 @@ public class CheckStatusController {
     @FXML
     private VBox approvalDateBox;
     
+    private FxRequest<DatabaseManager.ApplicationStatusView> statusRequest;
+
     // Timeline elements
     @FXML
     private VBox timelineBox;
@@ -100,100 +99,94 @@ public class CheckStatusController {
 
         // Query database for application
         DatabaseManager dbManager = DatabaseManager.getInstance();
-        
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                 "SELECT * FROM applicants WHERE application_id = ?")) {
+        statusRequest.submit(() -> dbManager.findApplicationStatus(applicationId),
+                application -> showStatus(applicationId, application),
+                error -> showAlert("Error", "Failed to check status: " + error.getMessage(), Alert.AlertType.ERROR));
+    }
+
+    private void showStatus(String applicationId, DatabaseManager.ApplicationStatusView application) {
+        if (application != null) {
+            // Application found - display details
+            statusContainer.setVisible(true);
+            statusContainer.setManaged(true);
+            
+            appIdLabel.setText(application.getApplicationId());
+            nameLabel.setText(application.getFirstName() + " " + application.getLastName());
+            visaTypeLabel.setText(application.getVisaType());
+            submissionDateLabel.setText(application.getCreatedAt());
+            countryLabel.setText(application.getCountry());
+            
+            String status = application.getStatus();
+            String submittedDate = application.getCreatedAt();
+            String duration = application.getVisaDuration();
+            String approvedBy = application.getApprovedBy();
+            String approvalDate = application.getApprovalDate();
             
-            stmt.setString(1, applicationId);
-            ResultSet rs = stmt.executeQuery();
+            statusBadge.setText(status);
             
-            if (rs.next()) {
-                // Application found - display details
-                statusContainer.setVisible(true);
-                statusContainer.setManaged(true);
-                
-                appIdLabel.setText(rs.getString("application_id"));
-                nameLabel.setText(rs.getString("first_name") + " " + rs.getString("last_name"));
-                visaTypeLabel.setText(rs.getString("visa_type"));
-                submissionDateLabel.setText(rs.getString("created_at"));
-                countryLabel.setText(rs.getString("country"));
-                
-                String status = rs.getString("status");
-                String submittedDate = rs.getString("created_at");
-                String duration = rs.getString("visa_duration");
-                String approvedBy = rs.getString("approved_by");
-                String approvalDate = rs.getString("approval_date");
-                
-                statusBadge.setText(status);
-                
-                // Hide optional fields by default
-                hideOptionalFields();
-                
-                // Update timeline and display based on status
-                updateTimeline(status, submittedDate, approvalDate);
-                
-                // Set status color and show relevant information
-                switch (status) {
-                    case "Processing":
-                        statusBadge.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        break;
-                        
-                    case "Approved":
-                        statusBadge.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        
-                        // Show visa duration
-                        if (duration != null && visaDurationLabel != null && visaDurationBox != null) {
-                            visaDurationLabel.setText("Visa Duration: " + duration);
-                            visaDurationBox.setVisible(true);
-                            visaDurationBox.setManaged(true);
-                        }
-                        
-                        // Show approved by
-                        if (approvedBy != null && approvedByLabel != null && approvedByBox != null) {
-                            approvedByLabel.setText(approvedBy);
-                            approvedByBox.setVisible(true);
-                            approvedByBox.setManaged(true);
-                        }
-                        
-                        // Show approval date
-                        if (approvalDate != null && approvalDateLabel != null && approvalDateBox != null) {
-                            approvalDateLabel.setText(approvalDate);
-                            approvalDateBox.setVisible(true);
-                            approvalDateBox.setManaged(true);
-                        }
-                        break;
-                        
-                    case "Rejected":
-                        statusBadge.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
-                        
-                        // Show who rejected
-                        if (approvedBy != null && approvedByLabel != null && approvedByBox != null) {
-                            approvedByLabel.setText(approvedBy);
-                            approvedByLabel.setStyle("-fx-text-fill: #f44336;");
-                            approvedByBox.setVisible(true);
-                            approvedByBox.setManaged(true);
-                        }
-                        
-                        // Show rejection date
-                        if (approvalDate != null && approvalDateLabel != null && approvalDateBox != null) {
-                            approvalDateLabel.setText(approvalDate);
-                            approvalDateLabel.setStyle("-fx-text-fill: #f44336;");
-                            approvalDateBox.setVisible(true);
-                            approvalDateBox.setManaged(true);
-                        }
-                        break;
-                }
-                
-            } else {
-                // Application not found
-                statusContainer.setVisible(false);
-                statusContainer.setManaged(false);
-                showAlert("Not Found", "No application found with ID: " + applicationId, Alert.AlertType.WARNING);
+            // Hide optional fields by default
+            hideOptionalFields();
+            
+            // Update timeline and display based on status
+            updateTimeline(status, submittedDate, approvalDate);
+            
+            // Set status color and show relevant information
+            switch (status) {
+                case "Processing":
+                    statusBadge.setStyle("-fx-background-color: #FF9800; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
+                    break;
+                    
+                case "Approved":
+                    statusBadge.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
+                    
+                    // Show visa duration
+                    if (duration != null && visaDurationLabel != null && visaDurationBox != null) {
+                        visaDurationLabel.setText("Visa Duration: " + duration);
+                        visaDurationBox.setVisible(true);
+                        visaDurationBox.setManaged(true);
+                    }
+                    
+                    // Show approved by
+                    if (approvedBy != null && approvedByLabel != null && approvedByBox != null) {
+                        approvedByLabel.setText(approvedBy);
+                        approvedByBox.setVisible(true);
+                        approvedByBox.setManaged(true);
+                    }
+                    
+                    // Show approval date
+                    if (approvalDate != null && approvalDateLabel != null && approvalDateBox != null) {
+                        approvalDateLabel.setText(approvalDate);
+                        approvalDateBox.setVisible(true);
+                        approvalDateBox.setManaged(true);
+                    }
+                    break;
+                    
+                case "Rejected":
+                    statusBadge.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-padding: 8 16; -fx-background-radius: 5; -fx-font-weight: bold;");
+                    
+                    // Show who rejected
+                    if (approvedBy != null && approvedByLabel != null && approvedByBox != null) {
+                        approvedByLabel.setText(approvedBy);
+                        approvedByLabel.setStyle("-fx-text-fill: #f44336;");
+                        approvedByBox.setVisible(true);
+                        approvedByBox.setManaged(true);
+                    }
+                    
+                    // Show rejection date
+                    if (approvalDate != null && approvalDateLabel != null && approvalDateBox != null) {
+                        approvalDateLabel.setText(approvalDate);
+                        approvalDateLabel.setStyle("-fx-text-fill: #f44336;");
+                        approvalDateBox.setVisible(true);
+                        approvalDateBox.setManaged(true);
+                    }
+                    break;
             }
             
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to check status: " + e.getMessage(), Alert.AlertType.ERROR);
+        } else {
+            // Application not found
+            statusContainer.setVisible(false);
+            statusContainer.setManaged(false);
+            showAlert("Not Found", "No application found with ID: " + applicationId, Alert.AlertType.WARNING);
         }
     }
     
@@ -294,9 +287,19 @@ public class CheckStatusController {
 
     @FXML
     private void initialize() {
+        statusRequest = new FxRequest<>();
+        statusContainer.setVisible(false);
+        statusContainer.setManaged(false);
+        hideOptionalFields();
+        LOG.debug("Check Status screen initialized");
+    }
+
+    @Override
+    public void reset() {
+        statusRequest.cancel();
+        applicationIdField.clear();
         statusContainer.setVisible(false);
         statusContainer.setManaged(false);
         hideOptionalFields();
-        System.out.println("Check Status screen initialized");
     }
 }
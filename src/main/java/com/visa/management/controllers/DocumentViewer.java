@@ -0,0 +1,93 @@
+package com.visa.management.controllers;
+
+import com.visa.management.database.DatabaseManager.DocumentInfo;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Screen;
+import javafx.stage.Stage;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * In-app viewer for uploaded image documents, so reviewing a scan does not start an external
+ * program (and works on stations without a desktop). Thumbnails and previews come from the shared
+ * ImageCache and are decoded in the background at the size they are displayed at.
+ */
+public final class DocumentViewer {
+
+    public static final int THUMBNAIL_SIZE = 120;
+
+    // Formats JavaFX can decode itself
+    private static final Set<String> IMAGE_TYPES = Set.of("png", "jpg", "jpeg", "gif", "bmp");
+
+    private DocumentViewer() {
+    }
+
+    public static boolean canPreview(DocumentInfo doc) {
+        return doc.getFileType() != null
+                && IMAGE_TYPES.contains(doc.getFileType().toLowerCase(Locale.ROOT))
+                && Files.isRegularFile(Paths.get(doc.getFilePath()));
+    }
+
+    // A thumbnail that fills in once decoded; the caller must check canPreview first
+    public static StackPane thumbnail(DocumentInfo doc) {
+        Image image = ImageCache.shared().get(Paths.get(doc.getFilePath()), THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        StackPane pane = withProgress(image);
+        pane.setPrefSize(THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        pane.setMaxSize(THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        pane.setStyle("-fx-background-color: white; -fx-border-color: #ddd; -fx-cursor: hand;");
+        return pane;
+    }
+
+    // Open a window showing the image scaled to fit most of the screen
+    public static void show(DocumentInfo doc) {
+        Rectangle2D screen = Screen.getPrimary().getVisualBounds();
+        int width = (int) (screen.getWidth() * 0.8);
+        int height = (int) (screen.getHeight() * 0.8);
+        Path file = Paths.get(doc.getFilePath());
+        Image image = ImageCache.shared().get(file, width, height);
+
+        ScrollPane scroll = new ScrollPane(withProgress(image));
+        scroll.setFitToWidth(true);
+        scroll.setFitToHeight(true);
+        scroll.setStyle("-fx-background: #333; -fx-background-color: #333;");
+
+        Stage stage = new Stage();
+        stage.setTitle(doc.getFilename());
+        stage.setScene(new Scene(scroll, width, height));
+        stage.show();
+    }
+
+    // The image, with a spinner until it is decoded and a message if it cannot be
+    private static StackPane withProgress(Image image) {
+        ImageView view = new ImageView(image);
+        view.setPreserveRatio(true);
+        StackPane pane = new StackPane(view);
+        pane.setAlignment(Pos.CENTER);
+
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setMaxSize(32, 32);
+        pane.getChildren().add(spinner);
+        ImageCache.whenDone(image, () -> {
+            pane.getChildren().remove(spinner);
+            if (image.isError()) {
+                Label error = new Label("⚠ Cannot display image");
+                error.setStyle("-fx-text-fill: #f44336; -fx-font-size: 11px;");
+                error.setWrapText(true);
+                pane.getChildren().add(error);
+            }
+        });
+        return pane;
+    }
+}
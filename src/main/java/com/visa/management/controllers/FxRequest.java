@@ -0,0 +1,75 @@
+package com.visa.management.controllers;
+
+import com.visa.management.database.DatabaseExecutor;
+import javafx.application.Platform;
+import javafx.scene.Node;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Runs database work in the background and hands the result back on the JavaFX thread.
+ * Starting a new request cancels the previous one, and results of superseded requests are dropped,
+ * so a slow query can never overwrite the output of a newer one.
+ * Must be used from the JavaFX application thread.
+ */
+public class FxRequest<T> {
+
+    private final Node loadingIndicator;
+    private CompletableFuture<T> pending;
+    private long generation;
+
+    public FxRequest() {
+        this(null);
+    }
+
+    // The indicator (if any) is shown while a request is in flight
+    public FxRequest(Node loadingIndicator) {
+        this.loadingIndicator = loadingIndicator;
+        setLoading(false);
+    }
+
+    public void submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        cancel();
+        long requestGeneration = ++generation;
+        setLoading(true);
+
+        CompletableFuture<T> future = DatabaseExecutor.submit(work);
+        pending = future;
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            if (requestGeneration != generation) {
+                return; // Superseded or cancelled
+            }
+            pending = null;
+            setLoading(false);
+            if (error != null) {
+                // Unwrap failures rethrown by join() inside the work
+                onFailure.accept(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                onSuccess.accept(result);
+            }
+        }));
+    }
+
+    public void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        generation++;
+        setLoading(false);
+    }
+
+    public boolean isRunning() {
+        return pending != null;
+    }
+
+    private void setLoading(boolean loading) {
+        if (loadingIndicator != null) {
+            loadingIndicator.setVisible(loading);
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
+import com.visa.management.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 
 public class HomeController {
+    private static final Logger LOG = Logger.get(HomeController.class);
 
     @FXML
     private Button loginButton;
@@ -32,6 +34,6 @@ public class HomeController {
 
     @FXML
     private void initialize() {
-        System.out.println("Home screen initialized");
+        LOG.debug("Home screen initialized");
     }
 }
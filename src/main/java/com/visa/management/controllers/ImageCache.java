@@ -0,0 +1,136 @@
+package com.visa.management.controllers;
+
+import com.visa.management.logging.Logger;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.image.Image;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of decoded document images, bounded by their pixel memory
+ * (visa.viewer.cacheMegabytes, default 64). Images are decoded by JavaFX in the background,
+ * already scaled down to the size they are requested at, so a 20 MB scan shown as a thumbnail
+ * costs a few kilobytes. Stored documents are content-addressed, so a cached image never goes stale.
+ * Must be used from the JavaFX application thread.
+ */
+public class ImageCache {
+    private static final Logger LOG = Logger.get(ImageCache.class);
+
+    private static final long BUDGET_BYTES =
+            Math.max(1, Integer.getInteger("visa.viewer.cacheMegabytes", 64)) * 1024L * 1024L;
+
+    private static final ImageCache SHARED = new ImageCache(BUDGET_BYTES);
+
+    private final long budgetBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    public ImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    public static ImageCache shared() {
+        return SHARED;
+    }
+
+    // The image decoded to fit within width x height; starts a background load on a miss
+    public Image get(Path file, int width, int height) {
+        String key = file.toAbsolutePath() + "@" + width + "x" + height;
+        Entry cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return cached.image;
+        }
+
+        misses++;
+        Image image = new Image(file.toUri().toString(), width, height, true, true, true);
+        // Until decoding finishes, assume the whole box is used
+        Entry entry = new Entry(image, (long) width * height * 4);
+        entries.put(key, entry);
+        usedBytes += entry.bytes;
+        whenDone(image, () -> loaded(key, entry));
+        evict(key);
+        return image;
+    }
+
+    // Run the action once the image has finished decoding or failed to
+    static void whenDone(Image image, Runnable action) {
+        if (isDone(image)) {
+            action.run();
+            return;
+        }
+        InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                if (isDone(image)) {
+                    image.progressProperty().removeListener(this);
+                    image.errorProperty().removeListener(this);
+                    action.run();
+                }
+            }
+        };
+        image.progressProperty().addListener(listener);
+        image.errorProperty().addListener(listener);
+    }
+
+    private static boolean isDone(Image image) {
+        return image.isError() || image.getProgress() >= 1.0;
+    }
+
+    private void loaded(String key, Entry entry) {
+        if (entries.get(key) != entry) {
+            return; // Evicted while loading
+        }
+        if (entry.image.isError()) {
+            // Do not cache failures; the file may be readable next time
+            LOG.warn("Could not decode " + key, entry.image.getException());
+            entries.remove(key);
+            usedBytes -= entry.bytes;
+            return;
+        }
+        long actual = (long) entry.image.getWidth() * (long) entry.image.getHeight() * 4;
+        usedBytes += actual - entry.bytes;
+        entry.bytes = actual;
+        evict(key);
+    }
+
+    // Drop least recently used images until within budget, always keeping the one just requested
+    private void evict(String keep) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            usedBytes -= eldest.getValue().bytes;
+            it.remove();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("images=%d, used=%.1f/%.1f MB, %d hit/%d miss",
+                entries.size(), usedBytes / (1024.0 * 1024.0), budgetBytes / (1024.0 * 1024.0), hits, misses);
+    }
+
+    private static class Entry {
+        private final Image image;
+        private long bytes;
+
+        Entry(Image image, long bytes) {
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+}
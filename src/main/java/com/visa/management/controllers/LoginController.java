@@ -6,7 +6,7 @@ import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 
-public class LoginController {
+public class LoginController implements Resettable {
     
     @FXML
     private TextField usernameField;
@@ -28,10 +28,21 @@ public class LoginController {
     @FXML
     private Label usernameLabel;
     
+    @FXML
+    private Button loginButton;
+    
+    @FXML
+    private ProgressIndicator loginIndicator;
+    
+    private FxRequest<DatabaseManager.Admin> adminLoginRequest;
+    private FxRequest<DatabaseManager.Applicant> applicantLoginRequest;
+    
     @FXML
     private void initialize() {
         // Create toggle group manually
         loginTypeGroup = new ToggleGroup();
+        adminLoginRequest = new FxRequest<>(loginIndicator);
+        applicantLoginRequest = new FxRequest<>(loginIndicator);
         adminRadio.setToggleGroup(loginTypeGroup);
         applicantRadio.setToggleGroup(loginTypeGroup);
         
@@ -57,11 +68,20 @@ public class LoginController {
                 applicantHelpBox.setManaged(true);
             }
         });
+    }
+    
+    @Override
+    public void reset() {
+        // Never keep the last user's credentials on screen
+        adminLoginRequest.cancel();
+        applicantLoginRequest.cancel();
+        loginButton.setDisable(false);
+        usernameField.clear();
+        passwordField.clear();
+        applicantRadio.setSelected(true);
         
-        // Show info on startup if applicant is selected
-        if (applicantRadio.isSelected()) {
-            showCredentialRecoveryInfo();
-        }
+        // Show info each time the screen is opened, since applicant login is the default
+        showCredentialRecoveryInfo();
     }
     
     private void showCredentialRecoveryInfo() {
@@ -79,14 +99,9 @@ public class LoginController {
         info.show();
         
         // Auto-close after 5 seconds
-        new Thread(() -> {
-            try {
-                Thread.sleep(5000);
-                javafx.application.Platform.runLater(() -> info.close());
-            } catch (InterruptedException e) {
-                // Ignore
-            }
-        }).start();
+        javafx.animation.PauseTransition autoClose = new javafx.animation.PauseTransition(javafx.util.Duration.seconds(5));
+        autoClose.setOnFinished(e -> info.close());
+        autoClose.play();
     }
     
     @FXML
@@ -100,36 +115,47 @@ public class LoginController {
         }
         
         DatabaseManager dbManager = DatabaseManager.getInstance();
+        boolean adminLogin = adminRadio.isSelected();
+        loginButton.setDisable(true);
         
-        if (adminRadio.isSelected()) {
+        if (adminLogin) {
             // Admin login
-            DatabaseManager.Admin admin = dbManager.verifyAdmin(username, password);
-            if (admin != null) {
-                // Store admin info in session
-                VisaApplicationSession.getInstance().setAdminCountry(admin.getCountry());
-                VisaApplicationSession.getInstance().setAdminUsername(admin.getUsername());
-                
-                // Navigate to admin dashboard directly
-                VisaManagementApp.changeScene("/fxml/admin-dashboard.fxml", "Admin Dashboard - " + admin.getCountry());
-            } else {
-                showAlert("Login Failed", "Invalid username or password", Alert.AlertType.ERROR);
-            }
+            adminLoginRequest.submit(() -> dbManager.verifyAdmin(username, password), admin -> {
+                loginButton.setDisable(false);
+                if (admin != null) {
+                    // Store admin info in session
+                    VisaApplicationSession.getInstance().setAdminCountry(admin.getCountry());
+                    VisaApplicationSession.getInstance().setAdminUsername(admin.getUsername());
+                    
+                    // Navigate to admin dashboard directly
+                    VisaManagementApp.changeScene("/fxml/admin-dashboard.fxml", "Admin Dashboard - " + admin.getCountry());
+                } else {
+                    showAlert("Login Failed", "Invalid username or password", Alert.AlertType.ERROR);
+                }
+            }, this::handleLoginError);
         } else {
             // Applicant login
-            DatabaseManager.Applicant applicant = dbManager.verifyApplicant(username, password);
-            if (applicant != null) {
-                // Store applicant info in session
-                VisaApplicationSession.getInstance().setApplicantId(applicant.getApplicationId());
-                VisaApplicationSession.getInstance().setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
-                
-                // Navigate to applicant dashboard directly
-                VisaManagementApp.changeScene("/fxml/applicant-dashboard.fxml", "My Application");
-            } else {
-                showAlert("Login Failed", "Invalid Application ID or password", Alert.AlertType.ERROR);
-            }
+            applicantLoginRequest.submit(() -> dbManager.verifyApplicant(username, password), applicant -> {
+                loginButton.setDisable(false);
+                if (applicant != null) {
+                    // Store applicant info in session
+                    VisaApplicationSession.getInstance().setApplicantId(applicant.getApplicationId());
+                    VisaApplicationSession.getInstance().setApplicantName(applicant.getFirstName() + " " + applicant.getLastName());
+                    
+                    // Navigate to applicant dashboard directly
+                    VisaManagementApp.changeScene("/fxml/applicant-dashboard.fxml", "My Application");
+                } else {
+                    showAlert("Login Failed", "Invalid Application ID or password", Alert.AlertType.ERROR);
+                }
+            }, this::handleLoginError);
         }
     }
     
+    private void handleLoginError(Throwable error) {
+        loginButton.setDisable(false);
+        showAlert("Login Failed", "Could not reach the database: " + error.getMessage(), Alert.AlertType.ERROR);
+    }
+    
     @FXML
     private void handleBack() {
         VisaManagementApp.changeScene("/fxml/home.fxml", "Visa Management & Processing System");
@@ -0,0 +1,11 @@
+package com.visa.management.controllers;
+
+/**
+ * Controller of a screen whose scene graph is cached and shown again instead of reloaded.
+ * initialize() runs once, possibly on a background thread, so it must only build the screen;
+ * reset() runs on the JavaFX thread every time the screen is shown (including the first time)
+ * and must clear what the previous visit left behind and apply the current session.
+ */
+public interface Resettable {
+    void reset();
+}
@@ -2,7 +2,7 @@ package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
 import com.visa.management.database.DatabaseManager;
-import javafx.application.Platform;
+import com.visa.management.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -12,7 +12,10 @@ import javafx.geometry.Insets;
 
 import java.util.List;
 
-public class SelectCountryController {
+public class SelectCountryController implements Resettable {
+    private static final Logger LOG = Logger.get(SelectCountryController.class);
+
+    private FxRequest<List<DatabaseManager.Notice>> noticesRequest;
 
     @FXML
     private void handleCountrySelection(javafx.event.ActionEvent event) {
@@ -22,41 +25,25 @@ public class SelectCountryController {
         // Store selected country first
         VisaApplicationSession.getInstance().setSelectedCountry(country);
         
-        // Show country notices in background thread to prevent UI freeze
-        new Thread(() -> {
-            try {
-                DatabaseManager dbManager = DatabaseManager.getInstance();
-                List<DatabaseManager.Notice> notices = dbManager.getNotices(country);
-                
-                if (notices != null && !notices.isEmpty()) {
-                    // Show notices on JavaFX thread
-                    Platform.runLater(() -> {
-                        try {
-                            showCountryNoticesDialog(country, notices);
-                            // Navigate after notices shown
-                            VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
-                        } catch (Exception e) {
-                            System.err.println("Error showing notices dialog: " + e.getMessage());
-                            e.printStackTrace();
-                            // Navigate anyway even if dialog fails
-                            VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
-                        }
-                    });
-                } else {
-                    // No notices, navigate directly
-                    Platform.runLater(() -> {
-                        VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
-                    });
+        // Notices are usually cached; a miss is loaded off the JavaFX thread. A second click supersedes the first.
+        noticesRequest.submit(
+            () -> DatabaseManager.getInstance().getNotices(country),
+            notices -> {
+                if (!notices.isEmpty()) {
+                    try {
+                        showCountryNoticesDialog(country, notices);
+                    } catch (Exception e) {
+                        LOG.error("Error showing notices dialog", e);
+                    }
                 }
-            } catch (Exception e) {
-                System.err.println("Error loading notices: " + e.getMessage());
-                e.printStackTrace();
+                // Navigate after notices shown (or straight away if there are none)
+                VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
+            },
+            e -> {
+                LOG.error("Error loading notices", e);
                 // Navigate anyway even if loading fails
-                Platform.runLater(() -> {
-                    VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
-                });
-            }
-        }).start();
+                VisaManagementApp.changeScene("/fxml/select-visa-type.fxml", "Select Visa Type - " + country);
+            });
     }
     
     private void showCountryNoticesDialog(String country, List<DatabaseManager.Notice> notices) {
@@ -105,11 +92,19 @@ public class SelectCountryController {
 
     @FXML
     private void handleBackToHome() {
+        noticesRequest.cancel();
         VisaManagementApp.changeScene("/fxml/home.fxml", "Visa Management & Processing System");
     }
 
     @FXML
     private void initialize() {
-        System.out.println("Country selection screen initialized");
+        LOG.debug("Country selection screen initialized");
+        noticesRequest = new FxRequest<>();
+    }
+
+    @Override
+    public void reset() {
+        // A notices lookup still running from the last visit must not navigate away
+        noticesRequest.cancel();
     }
 }
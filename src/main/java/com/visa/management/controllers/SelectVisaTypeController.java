@@ -1,12 +1,14 @@
 package com.visa.management.controllers;
 
 import com.visa.management.VisaManagementApp;
+import com.visa.management.logging.Logger;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 
-public class SelectVisaTypeController {
+public class SelectVisaTypeController implements Resettable {
+    private static final Logger LOG = Logger.get(SelectVisaTypeController.class);
 
     @FXML
     private Label countryLabel;
@@ -94,13 +96,28 @@ public class SelectVisaTypeController {
         VisaManagementApp.changeScene("/fxml/select-country.fxml", "Select Destination Country");
     }
 
+    private String defaultCountryText;
+
     @FXML
     private void initialize() {
+        defaultCountryText = countryLabel != null ? countryLabel.getText() : null;
+    }
+
+    @Override
+    public void reset() {
+        // Undo the restrictions of the previously selected country
+        for (Button button : new Button[] {touristBtn, medicalBtn, studentBtn, workBtn}) {
+            if (button != null) {
+                button.setDisable(false);
+                button.setStyle("");
+            }
+        }
+        
         String country = VisaApplicationSession.getInstance().getSelectedCountry();
-        if (country != null && countryLabel != null) {
-            countryLabel.setText("Visa Types for " + country);
+        if (countryLabel != null) {
+            countryLabel.setText(country != null ? "Visa Types for " + country : defaultCountryText);
         }
-        System.out.println("Visa type selection screen initialized for: " + country);
+        LOG.debug(() -> "Visa type selection screen shown for: " + country);
         
         // Show restriction message and disable restricted visa types
         applyCountryRestrictions(country);
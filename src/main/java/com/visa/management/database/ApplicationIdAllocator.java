@@ -0,0 +1,109 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+
+/**
+ * Hands out unique VSA application IDs from the persisted 'application_id' sequence in id_sequences.
+ * Values are reserved in blocks with a single UPDATE, so most calls are served from memory; two
+ * processes sharing the database always get disjoint blocks, and unused values in a block are simply
+ * skipped after a restart. Sequence values are mapped onto the 7-digit range by an affine permutation
+ * so consecutive applications do not get consecutive numbers.
+ *
+ * Configuration (system properties):
+ *   visa.applicationId.blockSize  values reserved per database round trip (default 64)
+ *   visa.applicationId.scramble   permute sequence values (default true); false gives VSA1000000, VSA1000001, ...
+ */
+public class ApplicationIdAllocator {
+    private static final Logger LOG = Logger.get(ApplicationIdAllocator.class);
+
+    private static final String SEQUENCE = "application_id";
+    // IDs are VSA1000000 .. VSA9999999
+    private static final long FIRST_ID = 1_000_000;
+    private static final long ID_SPACE = 9_000_000;
+    // Coprime with ID_SPACE (no factor 2, 3 or 5), so n -> (MULTIPLIER * n + OFFSET) mod ID_SPACE is a bijection
+    private static final long MULTIPLIER = 7_368_787;
+    private static final long OFFSET = 2_654_435;
+
+    private final DatabaseManager dbManager;
+    private final int blockSize = Math.max(1, Integer.getInteger("visa.applicationId.blockSize", 64));
+    private final boolean scramble = Boolean.parseBoolean(System.getProperty("visa.applicationId.scramble", "true"));
+    private final ArrayDeque<String> available = new ArrayDeque<>();
+
+    public ApplicationIdAllocator(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Must not be called while holding the writer connection: reserving a block needs it, and the pool
+    // rejects a second writer checkout on the same thread with IllegalStateException
+    public synchronized String next() throws SQLException {
+        while (available.isEmpty()) {
+            reserveBlock();
+        }
+        return available.poll();
+    }
+
+    private void reserveBlock() throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long start;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE id_sequences SET next_value = next_value + ? WHERE name = ? RETURNING next_value")) {
+                    stmt.setInt(1, blockSize);
+                    stmt.setString(2, SEQUENCE);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Sequence '" + SEQUENCE + "' is missing");
+                        }
+                        start = rs.getLong(1) - blockSize;
+                    }
+                }
+                if (start >= ID_SPACE) {
+                    throw new SQLException("All " + ID_SPACE + " application IDs have been allocated");
+                }
+                long end = Math.min(start + blockSize, ID_SPACE);
+
+                // Applications created before the sequence existed have random IDs; skip any of those
+                int skipped = 0;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT 1 FROM applicants WHERE application_id = ?")) {
+                    for (long n = start; n < end; n++) {
+                        String id = format(n);
+                        stmt.setString(1, id);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (rs.next()) {
+                                skipped++;
+                            } else {
+                                available.add(id);
+                            }
+                        }
+                    }
+                }
+                conn.commit();
+
+                int reserved = (int) (end - start);
+                int taken = skipped;
+                LOG.debug(() -> "Reserved application IDs " + start + ".." + (end - 1) +
+                        (taken > 0 ? " (" + taken + " already in use)" : ""));
+                if (reserved == taken) {
+                    LOG.info("Application ID block at " + start + " was fully taken by existing applications");
+                }
+            } catch (SQLException e) {
+                available.clear();
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private String format(long sequenceValue) {
+        long n = scramble ? (MULTIPLIER * sequenceValue + OFFSET) % ID_SPACE : sequenceValue;
+        return "VSA" + (FIRST_ID + n);
+    }
+}
@@ -0,0 +1,232 @@
+package com.visa.management.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pages through one country's applications, newest first, using keyset pagination on
+ * (created_at, id). Each page continues from the last row of the previous one, so fetching
+ * page N costs the same as page 1 and rows inserted meanwhile never shift later pages.
+ * As soon as a page is handed out the following one is fetched in the background.
+ *
+ * With a search text the rows come from the applicant_search full-text index instead, best
+ * match first. Ranked results have no stable key to continue from, so they are paged by offset;
+ * the cost of a page grows with the number of matches, not with the size of the table.
+ * Each search term must be at least 3 characters (the index is built from trigrams).
+ *
+ * Selected columns: id, application_id, first_name, last_name, visa_type, nationality, status, created_at.
+ */
+public class ApplicationPager<T> {
+
+    // Rows per page for the admin dashboard
+    public static final int DEFAULT_PAGE_SIZE = Integer.getInteger("visa.dashboard.pageSize", 200);
+
+    private static final String COLUMNS =
+            "SELECT id, application_id, first_name, last_name, visa_type, nationality, status, created_at " +
+            "FROM applicants WHERE country = ?";
+
+    private static final String SEARCH_COLUMNS =
+            "SELECT a.id, a.application_id, a.first_name, a.last_name, a.visa_type, a.nationality, a.status, a.created_at " +
+            "FROM applicant_search s JOIN applicants a ON a.id = s.rowid " +
+            "WHERE applicant_search MATCH ? AND s.country = ?";
+
+    // Shortest term the trigram index can match
+    public static final int MIN_SEARCH_TERM = 3;
+
+    private final String country;
+    private final String status;
+    // FTS5 match expression, or null when not searching
+    private final String match;
+    private final int pageSize;
+    private final RowMapper<T> mapper;
+
+    // Guards the cursor; only taken by fetches, never around a query
+    private final Object cursorLock = new Object();
+    // Keyset cursor: the last row already returned
+    private String lastCreatedAt;
+    private long lastId;
+    // Search results already returned
+    private int offset;
+
+    // Guards prefetched; nextPage() and close() run on the JavaFX thread, so it is never held across a query
+    private final Object pageLock = new Object();
+    private CompletableFuture<List<T>> prefetched;
+    private volatile boolean exhausted;
+    private volatile boolean closed;
+
+    // A null or "All" status pages through every status
+    public ApplicationPager(String country, String status, int pageSize, RowMapper<T> mapper) {
+        this(country, status, null, pageSize, mapper);
+    }
+
+    // A blank search lists every application; one without any usable term finds nothing
+    public ApplicationPager(String country, String status, String search, int pageSize, RowMapper<T> mapper) {
+        this.country = country;
+        this.status = status == null || "All".equals(status) ? null : status;
+        this.pageSize = pageSize;
+        this.mapper = mapper;
+        if (search == null || search.isBlank()) {
+            this.match = null;
+        } else {
+            this.match = toMatchExpression(search);
+            this.exhausted = match == null;
+        }
+    }
+
+    // Every whitespace-separated term must occur somewhere in the applicant's indexed text.
+    // Terms are quoted so FTS5 operators typed by the user are matched literally; terms that look
+    // like phone numbers are reduced to digits, as phones are indexed. Returns null if no term is usable.
+    static String toMatchExpression(String search) {
+        StringBuilder expression = new StringBuilder();
+        for (String term : search.trim().split("\\s+")) {
+            if (term.matches("[0-9+().-]+") && term.chars().anyMatch(Character::isDigit)) {
+                term = term.replaceAll("[^0-9]", "");
+            }
+            if (term.codePointCount(0, term.length()) < MIN_SEARCH_TERM) {
+                continue;
+            }
+            if (expression.length() > 0) {
+                expression.append(" AND ");
+            }
+            expression.append('"').append(term.replace("\"", "\"\"")).append('"');
+        }
+        return expression.length() > 0 ? expression.toString() : null;
+    }
+
+    // The next page (empty once exhausted); also starts prefetching the page after it
+    public CompletableFuture<List<T>> nextPage() {
+        synchronized (pageLock) {
+            if (closed) {
+                return CompletableFuture.completedFuture(List.of());
+            }
+            CompletableFuture<List<T>> page = prefetched != null ? prefetched : DatabaseExecutor.submit(this::fetchPage);
+            prefetched = page.thenCompose(rows -> exhausted
+                    ? CompletableFuture.completedFuture(List.of())
+                    : DatabaseExecutor.submit(this::fetchPage));
+            return page;
+        }
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    // Stop any prefetch still in flight; a query already running finishes in the background and is dropped
+    public void close() {
+        closed = true;
+        exhausted = true;
+        synchronized (pageLock) {
+            if (prefetched != null) {
+                prefetched.cancel(false);
+                prefetched = null;
+            }
+        }
+    }
+
+    // Calls are chained through nextPage(), so only one fetch runs at a time
+    private List<T> fetchPage() throws SQLException {
+        if (exhausted) {
+            return List.of();
+        }
+        if (match != null) {
+            return fetchSearchPage();
+        }
+
+        String afterCreatedAt;
+        long afterId;
+        synchronized (cursorLock) {
+            afterCreatedAt = lastCreatedAt;
+            afterId = lastId;
+        }
+
+        StringBuilder query = new StringBuilder(COLUMNS);
+        if (status != null) {
+            query.append(" AND status = ?");
+        }
+        if (afterCreatedAt != null) {
+            query.append(" AND (created_at, id) < (?, ?)");
+        }
+        query.append(" ORDER BY created_at DESC, id DESC LIMIT ?");
+
+        List<T> rows = new ArrayList<>(pageSize);
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            int index = 1;
+            stmt.setString(index++, country);
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            if (afterCreatedAt != null) {
+                stmt.setString(index++, afterCreatedAt);
+                stmt.setLong(index++, afterId);
+            }
+            stmt.setInt(index, pageSize);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next() && !closed) {
+                rows.add(mapper.map(rs));
+                afterId = rs.getLong("id");
+                afterCreatedAt = rs.getString("created_at");
+            }
+        }
+        if (closed) {
+            return List.of();
+        }
+
+        synchronized (cursorLock) {
+            lastCreatedAt = afterCreatedAt;
+            lastId = afterId;
+        }
+        if (rows.size() < pageSize) {
+            exhausted = true;
+        }
+        return rows;
+    }
+
+    private List<T> fetchSearchPage() throws SQLException {
+        String query = SEARCH_COLUMNS + (status != null ? " AND a.status = ?" : "") +
+                " ORDER BY s.rank LIMIT ? OFFSET ?";
+        int skip;
+        synchronized (cursorLock) {
+            skip = offset;
+        }
+
+        List<T> rows = new ArrayList<>(pageSize);
+        try (Connection conn = DatabaseManager.getInstance().getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            int index = 1;
+            stmt.setString(index++, match);
+            stmt.setString(index++, country);
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            stmt.setInt(index++, pageSize);
+            stmt.setInt(index, skip);
+
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next() && !closed) {
+                rows.add(mapper.map(rs));
+            }
+        }
+        if (closed) {
+            return List.of();
+        }
+
+        synchronized (cursorLock) {
+            offset = skip + rows.size();
+        }
+        if (rows.size() < pageSize) {
+            exhausted = true;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,59 @@
+package com.visa.management.database;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything entered on the application form, captured once so it can be written
+ * by DatabaseManager.submitApplication in a single transaction.
+ */
+public class ApplicationSubmission {
+    private final String firstName;
+    private final String lastName;
+    private final String nationalId;
+    private final String nationality;
+    private final String passport;
+    private final String email;
+    private final String phone;
+    private final String address;
+    private final String country;
+    private final String visaType;
+    // Visa-specific fields in form order
+    private final Map<String, String> visaDetails;
+    // Files chosen for upload; on submission DocumentStore keeps one copy per distinct content under blobs/
+    private final List<File> documents;
+
+    public ApplicationSubmission(String firstName, String lastName, String nationalId, String nationality,
+                                 String passport, String email, String phone, String address,
+                                 String country, String visaType,
+                                 Map<String, String> visaDetails, List<File> documents) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.nationalId = nationalId;
+        this.nationality = nationality;
+        this.passport = passport;
+        this.email = email;
+        this.phone = phone;
+        this.address = address;
+        this.country = country;
+        this.visaType = visaType;
+        this.visaDetails = Collections.unmodifiableMap(new LinkedHashMap<>(visaDetails));
+        this.documents = List.copyOf(documents);
+    }
+
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getNationalId() { return nationalId; }
+    public String getNationality() { return nationality; }
+    public String getPassport() { return passport; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getAddress() { return address; }
+    public String getCountry() { return country; }
+    public String getVisaType() { return visaType; }
+    public Map<String, String> getVisaDetails() { return visaDetails; }
+    public List<File> getDocuments() { return documents; }
+}
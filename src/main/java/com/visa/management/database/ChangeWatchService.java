@@ -0,0 +1,134 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tells views when the database has changed, so they can refresh on a timer without re-running
+ * their queries every time. A background thread reads PRAGMA data_version on a connection of its own
+ * every few seconds (visa.db.watchMillis, default 2000). SQLite changes that value whenever another
+ * connection, in this process or any other, commits; since this connection never writes, every
+ * commit shows up. One poll costs a few microseconds however many views are listening.
+ */
+public class ChangeWatchService {
+    private static final Logger LOG = Logger.get(ChangeWatchService.class);
+
+    public static final long DEFAULT_INTERVAL_MILLIS = Long.getLong("visa.db.watchMillis", 2000);
+
+    private final String url;
+    private final long intervalMillis;
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "db-change-watch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Only used on the watch thread
+    private Connection connection;
+    private long lastVersion = -1;
+    private boolean failing;
+
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+
+    public ChangeWatchService(String url, long intervalMillis) {
+        this.url = url;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::poll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeConnection();
+        LOG.debug(() -> "Change watch stopped after " + polls.get() + " polls, " + changes.get() + " changes");
+    }
+
+    // Listeners are called on the watch thread, at most once per poll
+    public void addListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void poll() {
+        long version;
+        try {
+            if (connection == null) {
+                connection = DriverManager.getConnection(url);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+            }
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                rs.next();
+                version = rs.getLong(1);
+            }
+            polls.incrementAndGet();
+            failing = false;
+        } catch (SQLException e) {
+            if (!failing) {
+                LOG.warn("Could not poll the database for changes; will retry", e);
+                failing = true;
+            }
+            // A fresh connection has its own data_version, so the next value is a new baseline
+            closeConnection();
+            return;
+        }
+
+        boolean changed = lastVersion != -1 && version != lastVersion;
+        lastVersion = version;
+        if (!changed) {
+            return;
+        }
+        changes.incrementAndGet();
+        for (ChangeListener listener : listeners) {
+            try {
+                listener.databaseChanged();
+            } catch (RuntimeException e) {
+                LOG.error("Database change listener failed", e);
+            }
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOG.debug(() -> "Closing change watch connection failed: " + e.getMessage());
+            }
+            connection = null;
+            lastVersion = -1;
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChangeListener {
+        void databaseChanged();
+    }
+}
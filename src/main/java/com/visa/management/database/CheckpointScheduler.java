@@ -0,0 +1,54 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs WAL checkpoints on a background thread so commits never pay for them.
+ * Automatic checkpointing is switched off on the pooled connections while this is running.
+ */
+public class CheckpointScheduler {
+    private static final Logger LOG = Logger.get(CheckpointScheduler.class);
+
+    private final ConnectionPool pool;
+    private final long intervalSeconds;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "db-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CheckpointScheduler(ConnectionPool pool, long intervalSeconds) {
+        this.pool = pool;
+        this.intervalSeconds = intervalSeconds;
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(() -> checkpoint("PASSIVE"), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    // Stop the timer and fold the whole WAL back into the main database file
+    public void shutdown() {
+        executor.shutdownNow();
+        checkpoint("TRUNCATE");
+    }
+
+    private void checkpoint(String mode) {
+        try (Connection conn = pool.acquireWriter();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            if (rs.next() && rs.getInt(1) != 0) {
+                LOG.debug(() -> mode + " checkpoint was blocked by an active reader");
+            }
+        } catch (SQLException e) {
+            LOG.warn("WAL checkpoint failed", e);
+        }
+    }
+}
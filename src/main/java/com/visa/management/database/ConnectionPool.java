@@ -0,0 +1,331 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded SQLite connection pool with one writer connection and a fixed number of reader connections.
+ * PRAGMA settings are applied once when a physical connection is opened, not on every checkout.
+ * Each physical connection also keeps a StatementCache (size from visa.db.statementCacheSize,
+ * default 64, 0 disables it) that serves single-argument prepareStatement calls.
+ */
+public class ConnectionPool {
+    private static final Logger LOG = Logger.get(ConnectionPool.class);
+
+    private static final long ACQUIRE_TIMEOUT_MS = 30_000;
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("visa.db.statementCacheSize", 64);
+
+    private final String url;
+    private final List<String> connectionPragmas;
+    private final List<String> readerPragmas;
+    private final int readerCount;
+
+    private final Semaphore writerPermit = new Semaphore(1, true);
+    private final Semaphore readerPermits;
+    private final ConcurrentLinkedDeque<Connection> idleWriter = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Connection> idleReaders = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Connection> allConnections = new ConcurrentLinkedDeque<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+
+    // Statistics
+    private final long createdAtNanos = System.nanoTime();
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong totalHeldNanos = new AtomicLong();
+    private final AtomicInteger physicalOpened = new AtomicInteger();
+    private final AtomicInteger writerInUse = new AtomicInteger();
+    private final AtomicInteger readersInUse = new AtomicInteger();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+
+    // Thread currently holding the writer connection, so a nested checkout fails instead of timing out
+    private volatile Thread writerOwner;
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, int readerCount, List<String> connectionPragmas, List<String> readerPragmas) {
+        this.url = url;
+        this.readerCount = readerCount;
+        this.connectionPragmas = List.copyOf(connectionPragmas);
+        this.readerPragmas = List.copyOf(readerPragmas);
+        this.readerPermits = new Semaphore(readerCount, true);
+    }
+
+    // Borrow the single writer connection (blocks while another thread holds it; a second checkout on
+    // the same thread would wait for itself, so it fails at once)
+    public Connection acquireWriter() throws SQLException {
+        if (writerOwner == Thread.currentThread()) {
+            throw new IllegalStateException("This thread already holds the writer connection");
+        }
+        Connection conn = acquire(writerPermit, idleWriter, false, writerInUse);
+        writerOwner = Thread.currentThread();
+        return conn;
+    }
+
+    // Borrow one of the reader connections
+    public Connection acquireReader() throws SQLException {
+        return acquire(readerPermits, idleReaders, true, readersInUse);
+    }
+
+    private Connection acquire(Semaphore permits, ConcurrentLinkedDeque<Connection> idle,
+                               boolean reader, AtomicInteger inUse) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a " + (reader ? "reader" : "writer") + " connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            Connection physical = idle.pollFirst();
+            if (physical == null || physical.isClosed()) {
+                if (physical != null) {
+                    closePhysical(physical);
+                }
+                physical = openPhysical(reader);
+            }
+            inUse.incrementAndGet();
+            return wrap(physical, permits, idle, inUse);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection openPhysical(boolean reader) throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            for (String pragma : connectionPragmas) {
+                stmt.execute(pragma);
+            }
+            if (reader) {
+                for (String pragma : readerPragmas) {
+                    stmt.execute(pragma);
+                }
+            }
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        allConnections.add(conn);
+        statementCaches.put(conn, new StatementCache(conn, STATEMENT_CACHE_SIZE, statementHits, statementMisses));
+        physicalOpened.incrementAndGet();
+        return conn;
+    }
+
+    private void closePhysical(Connection physical) throws SQLException {
+        allConnections.remove(physical);
+        StatementCache cache = statementCaches.remove(physical);
+        if (cache != null) {
+            cache.closeAll();
+        }
+        physical.close();
+    }
+
+    private void recordWait(long waitNanos) {
+        acquisitions.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    private void release(Connection physical, Semaphore permits, ConcurrentLinkedDeque<Connection> idle,
+                         AtomicInteger inUse, long heldNanos) {
+        totalHeldNanos.addAndGet(heldNanos);
+        inUse.decrementAndGet();
+        try {
+            if (closed || physical.isClosed()) {
+                closePhysical(physical);
+            } else {
+                statementCaches.get(physical).releaseAll();
+                // Never hand out a connection with a half-finished transaction
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.addFirst(physical);
+            }
+        } catch (SQLException e) {
+            LOG.warn("Discarding pooled connection", e);
+            try {
+                closePhysical(physical);
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+        } finally {
+            if (permits == writerPermit) {
+                writerOwner = null;
+            }
+            permits.release();
+        }
+    }
+
+    private Connection wrap(Connection physical, Semaphore permits, ConcurrentLinkedDeque<Connection> idle,
+                            AtomicInteger inUse) {
+        InvocationHandler handler = new PooledConnectionHandler(physical, permits, idle, inUse);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    public PoolStats getStats() {
+        int poolSize = 1 + readerCount;
+        long elapsed = Math.max(1, System.nanoTime() - createdAtNanos);
+        long count = acquisitions.get();
+        return new PoolStats(
+            count,
+            count == 0 ? 0 : totalWaitNanos.get() / count,
+            maxWaitNanos.get(),
+            writerInUse.get(),
+            readersInUse.get(),
+            readerCount,
+            physicalOpened.get(),
+            statementHits.get(),
+            statementMisses.get(),
+            (double) totalHeldNanos.get() / ((double) elapsed * poolSize)
+        );
+    }
+
+    public void close() {
+        closed = true;
+        for (Connection conn : allConnections) {
+            try {
+                closePhysical(conn);
+            } catch (SQLException e) {
+                LOG.warn("Error closing pooled connection", e);
+            }
+        }
+        allConnections.clear();
+        idleWriter.clear();
+        idleReaders.clear();
+    }
+
+    // Hands out the physical connection but turns close() into a return to the pool
+    private class PooledConnectionHandler implements InvocationHandler {
+        private final Connection physical;
+        private final Semaphore permits;
+        private final ConcurrentLinkedDeque<Connection> idle;
+        private final AtomicInteger inUse;
+        private final StatementCache statements;
+        private final long acquiredAtNanos = System.nanoTime();
+        private boolean logicallyClosed;
+
+        PooledConnectionHandler(Connection physical, Semaphore permits, ConcurrentLinkedDeque<Connection> idle,
+                                AtomicInteger inUse) {
+            this.physical = physical;
+            this.permits = permits;
+            this.idle = idle;
+            this.inUse = inUse;
+            this.statements = statementCaches.get(physical);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!logicallyClosed) {
+                        logicallyClosed = true;
+                        release(physical, permits, idle, inUse, System.nanoTime() - acquiredAtNanos);
+                    }
+                    return null;
+                case "isClosed":
+                    return logicallyClosed || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                case "prepareStatement":
+                    if (!logicallyClosed && args.length == 1 && statements != null) {
+                        return statements.prepare((String) args[0]);
+                    }
+                    // Statements with key or cursor options are not cached
+                    return invokePhysical(method, args);
+                default:
+                    return invokePhysical(method, args);
+            }
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            if (logicallyClosed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // Snapshot of pool activity for diagnostics
+    public static class PoolStats {
+        private final long acquisitions;
+        private final long averageWaitNanos;
+        private final long maxWaitNanos;
+        private final int writerInUse;
+        private final int readersInUse;
+        private final int readerCapacity;
+        private final int physicalConnectionsOpened;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+        private final double utilization;
+
+        public PoolStats(long acquisitions, long averageWaitNanos, long maxWaitNanos, int writerInUse,
+                         int readersInUse, int readerCapacity, int physicalConnectionsOpened,
+                         long statementCacheHits, long statementCacheMisses, double utilization) {
+            this.acquisitions = acquisitions;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.writerInUse = writerInUse;
+            this.readersInUse = readersInUse;
+            this.readerCapacity = readerCapacity;
+            this.physicalConnectionsOpened = physicalConnectionsOpened;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+            this.utilization = utilization;
+        }
+
+        public long getAcquisitions() { return acquisitions; }
+        public long getAverageWaitNanos() { return averageWaitNanos; }
+        public long getMaxWaitNanos() { return maxWaitNanos; }
+        public int getWriterInUse() { return writerInUse; }
+        public int getReadersInUse() { return readersInUse; }
+        public int getReaderCapacity() { return readerCapacity; }
+        public int getPhysicalConnectionsOpened() { return physicalConnectionsOpened; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+        // Fraction of total pool capacity that was checked out since the pool was created
+        public double getUtilization() { return utilization; }
+
+        @Override
+        public String toString() {
+            return String.format("acquisitions=%d, avgWait=%.3fms, maxWait=%.3fms, writerInUse=%d, readersInUse=%d/%d, opened=%d, statementCache=%d hit/%d miss, utilization=%.1f%%",
+                    acquisitions, averageWaitNanos / 1_000_000.0, maxWaitNanos / 1_000_000.0,
+                    writerInUse, readersInUse, readerCapacity, physicalConnectionsOpened,
+                    statementCacheHits, statementCacheMisses, utilization * 100);
+        }
+    }
+}
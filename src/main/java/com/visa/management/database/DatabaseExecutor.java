@@ -0,0 +1,50 @@
+package com.visa.management.database;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared executor for database work that must not run on the JavaFX application thread.
+ * Each task gets its own virtual thread; actual concurrency is bounded by the connection pool.
+ */
+public final class DatabaseExecutor {
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-task-", 0).factory());
+
+    private DatabaseExecutor() {}
+
+    // Run a task that may throw (e.g. SQLException) and expose its outcome as a future
+    public static <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            if (future.isDone()) {
+                return; // Cancelled before it started
+            }
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    public static CompletableFuture<Void> run(SqlRunnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    @FunctionalInterface
+    public interface SqlRunnable {
+        void run() throws Exception;
+    }
+}
@@ -1,249 +1,157 @@
 package com.visa.management.database;
 
+import com.visa.management.documents.DocumentStore;
+import com.visa.management.documents.DocumentStore.StoredBlob;
+import com.visa.management.documents.DocumentUpload;
+import com.visa.management.logging.Logger;
+import com.visa.management.logging.PhaseTimer;
+
 import java.sql.*;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.io.File;
 
 public class DatabaseManager {
-    // Use absolute path to ensure all connections use the same database file
-    private static final String DB_FILE = new File(System.getProperty("user.dir"), "visadb.db").getAbsolutePath();
+    private static final Logger LOG = Logger.get(DatabaseManager.class);
+
+    // Use absolute path to ensure all connections use the same database file (visa.db.file overrides the
+    // default of visadb.db in the working directory, e.g. for benchmarks against generated databases)
+    private static final String DB_FILE = new File(System.getProperty("visa.db.file",
+            new File(System.getProperty("user.dir"), "visadb.db").getPath())).getAbsolutePath();
     private static final String DB_URL = "jdbc:sqlite:" + DB_FILE;
-    private static final String DB_USER = null;
-    private static final String DB_PASSWORD = null;
+    // Uploaded files live in a content-addressed store next to the database
+    private static final File DOCUMENTS_DIR = new File(new File(DB_FILE).getParentFile(), "documents");
+    // Number of pooled reader connections (the pool always keeps a single writer)
+    private static final int READER_CONNECTIONS = Integer.getInteger("visa.db.readers", 4);
+    // Seconds between background WAL checkpoints
+    private static final long CHECKPOINT_INTERVAL_SECONDS = Long.getLong("visa.db.checkpointSeconds", 30);
     
-    private static DatabaseManager instance;
+    private static volatile DatabaseManager instance;
     
-    private DatabaseManager() {
-        System.out.println("╔════════════════════════════════════════════════════════════╗");
-        System.out.println("║          INITIALIZING DATABASE MANAGER                     ║");
-        System.out.println("╚════════════════════════════════════════════════════════════╝");
-        System.out.println("Database File: " + DB_FILE);
-        System.out.println("Database URL: " + DB_URL);
-        System.out.println("Working directory: " + System.getProperty("user.dir"));
-        initializeDatabase();
-    }
+    private final DurabilityProfile durability;
+    private final ConnectionPool pool;
+    private final StatisticsService statisticsService;
+    private final ApplicationIdAllocator idAllocator;
+    private final NoticeCache noticeCache;
+    private final SubmissionPrecheck precheck;
+    private final ChangeWatchService changeWatch;
+    private final DocumentStore documentStore = new DocumentStore(DOCUMENTS_DIR.toPath());
+    private final List<StatusChangeListener> statusChangeListeners = new CopyOnWriteArrayList<>();
+    private CheckpointScheduler checkpointScheduler;
+    // Writer connection and its data_version at the last check (startup, then the watch thread only)
+    private Connection lastWriter;
+    private long lastWriterDataVersion;
+    private final AtomicBoolean precheckRebuildQueued = new AtomicBoolean();
     
-    public static DatabaseManager getInstance() {
-        if (instance == null) {
-            instance = new DatabaseManager();
+    private DatabaseManager() {
+        PhaseTimer startup = new PhaseTimer(LOG, "Database startup");
+        durability = DurabilityProfile.fromSystemProperty();
+        LOG.info("Opening database " + DB_FILE + " (durability " + durability + ")");
+        
+        List<String> pragmas = new java.util.ArrayList<>(List.of(
+                "PRAGMA synchronous = " + durability.getSynchronous(),
+                "PRAGMA foreign_keys = ON",
+                "PRAGMA busy_timeout = 5000"));
+        if (durability.isWal()) {
+            // Checkpoints run on the background scheduler instead of inside whichever commit crosses the threshold
+            pragmas.add("PRAGMA wal_autocheckpoint = 0");
         }
-        return instance;
-    }
-    
-    private void initializeDatabase() {
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             Statement stmt = conn.createStatement()) {
-            
-            // Set SQLite to synchronous mode for immediate writes
-            stmt.execute("PRAGMA synchronous = FULL");
-            stmt.execute("PRAGMA journal_mode = DELETE");
-            stmt.execute("PRAGMA foreign_keys = ON");
-            
-            System.out.println("SQLite PRAGMA settings applied");
-            
-            // Create admins table
-            stmt.execute("CREATE TABLE IF NOT EXISTS admins (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "username TEXT UNIQUE NOT NULL, " +
-                    "password TEXT NOT NULL, " +
-                    "country TEXT NOT NULL, " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Create applicants table
-            stmt.execute("CREATE TABLE IF NOT EXISTS applicants (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "application_id TEXT UNIQUE NOT NULL, " +
-                    "password TEXT NOT NULL, " +
-                    "first_name TEXT NOT NULL, " +
-                    "last_name TEXT NOT NULL, " +
-                    "national_id TEXT NOT NULL, " +
-                    "nationality TEXT NOT NULL, " +
-                    "passport TEXT NOT NULL, " +
-                    "email TEXT NOT NULL, " +
-                    "phone TEXT NOT NULL, " +
-                    "address TEXT NOT NULL, " +
-                    "country TEXT NOT NULL, " +
-                    "visa_type TEXT NOT NULL, " +
-                    "status TEXT DEFAULT 'Processing', " +
-                    "visa_duration TEXT, " +
-                    "approved_by TEXT, " +
-                    "approval_date DATETIME, " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Create visa_details table for additional visa-specific information
-            stmt.execute("CREATE TABLE IF NOT EXISTS visa_details (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "application_id TEXT NOT NULL, " +
-                    "field_name TEXT NOT NULL, " +
-                    "field_value TEXT, " +
-                    "FOREIGN KEY (application_id) REFERENCES applicants(application_id))");
-            
-            // Create notices table for country-specific notices from admin
-            stmt.execute("CREATE TABLE IF NOT EXISTS notices (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "country TEXT NOT NULL, " +
-                    "title TEXT NOT NULL, " +
-                    "content TEXT NOT NULL, " +
-                    "notice_type TEXT NOT NULL, " + // 'RULES', 'REJECTION_REASONS', 'GENERAL'
-                    "created_by TEXT NOT NULL, " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "updated_at DATETIME DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Create applicant_messages table for messages from applicants to admin
-            stmt.execute("CREATE TABLE IF NOT EXISTS applicant_messages (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "application_id TEXT NOT NULL, " +
-                    "message TEXT NOT NULL, " +
-                    "status TEXT DEFAULT 'UNREAD', " + // 'UNREAD', 'READ', 'REPLIED'
-                    "admin_reply TEXT, " +
-                    "created_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "replied_at DATETIME, " +
-                    "FOREIGN KEY (application_id) REFERENCES applicants(application_id))");
-            
-            // Create rejection_history table to track rejections and prevent re-application
-            stmt.execute("CREATE TABLE IF NOT EXISTS rejection_history (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "application_id TEXT NOT NULL, " +
-                    "national_id TEXT NOT NULL, " +
-                    "passport TEXT NOT NULL, " +
-                    "country TEXT NOT NULL, " +
-                    "rejection_reason TEXT, " +
-                    "rejection_date DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "ban_duration_months INTEGER DEFAULT 6, " + // Default 6 months ban
-                    "ban_until_date DATETIME, " +
-                    "rejected_by TEXT NOT NULL, " +
-                    "FOREIGN KEY (application_id) REFERENCES applicants(application_id))");
-            
-            // Create documents table for uploaded files
-            stmt.execute("CREATE TABLE IF NOT EXISTS documents (" +
-                    "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                    "application_id TEXT NOT NULL, " +
-                    "filename TEXT NOT NULL, " +
-                    "file_path TEXT NOT NULL, " +
-                    "file_type TEXT, " +
-                    "file_size INTEGER, " +
-                    "uploaded_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
-                    "FOREIGN KEY (application_id) REFERENCES applicants(application_id))");
-            
-            // Insert default admin accounts (one for each country) if not exists
-            insertDefaultAdmins();
-            
-            // Insert default notices for all countries
-            insertDefaultNotices();
-            
-            System.out.println("Database initialized successfully");
-            
-        } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            e.printStackTrace();
+        pool = new ConnectionPool(DB_URL, READER_CONNECTIONS, pragmas, List.of("PRAGMA query_only = ON"));
+        startup.mark("pool");
+        initializeDatabase(startup);
+        statisticsService = new StatisticsService(this);
+        idAllocator = new ApplicationIdAllocator(this);
+        noticeCache = new NoticeCache(this);
+        DatabaseExecutor.run(noticeCache::preload).exceptionally(e -> {
+            LOG.warn("Could not preload notices", e);
+            return null;
+        });
+        precheck = new SubmissionPrecheck(this);
+        // Baseline for noticing other processes' writes; anything after it is either in the build or noticed
+        otherProcessWroteSinceLastCheck();
+        DatabaseExecutor.run(precheck::rebuild).exceptionally(e -> {
+            LOG.warn("Could not build the submission pre-check index", e);
+            return null;
+        });
+        
+        if (durability.isWal()) {
+            checkpointScheduler = new CheckpointScheduler(pool, CHECKPOINT_INTERVAL_SECONDS);
+            checkpointScheduler.start();
         }
+        changeWatch = new ChangeWatchService(DB_URL, ChangeWatchService.DEFAULT_INTERVAL_MILLIS);
+        changeWatch.addListener(this::databaseChanged);
+        changeWatch.start();
+        startup.mark("services");
+        startup.finish();
     }
     
-    private void insertDefaultAdmins() {
-        String[] countries = {"India", "Bangladesh", "Japan", "Malaysia", "New Zealand", "Singapore"};
-        
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD)) {
-            String checkSql = "SELECT COUNT(*) FROM admins WHERE username = ?";
-            String insertSql = "INSERT INTO admins (username, password, country) VALUES (?, ?, ?)";
-            
-            for (String country : countries) {
-                String username = "admin_" + country.toLowerCase().replace(" ", "_");
-                String password = hashPassword(country.toLowerCase() + "123"); // Default password
-                
-                // Check if admin already exists
-                try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                    checkStmt.setString(1, username);
-                    ResultSet rs = checkStmt.executeQuery();
-                    rs.next();
-                    
-                    if (rs.getInt(1) == 0) {
-                        // Insert new admin
-                        try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                            insertStmt.setString(1, username);
-                            insertStmt.setString(2, password);
-                            insertStmt.setString(3, country);
-                            insertStmt.executeUpdate();
-                            System.out.println("Created admin: " + username + " (password: " + country.toLowerCase() + "123)");
-                        }
-                    }
+    // Opens the database on first use. VisaManagementApp calls this on a background thread at startup,
+    // but it is safe from any thread; concurrent first calls wait for the one that initializes.
+    public static DatabaseManager getInstance() {
+        DatabaseManager manager = instance;
+        if (manager == null) {
+            synchronized (DatabaseManager.class) {
+                manager = instance;
+                if (manager == null) {
+                    manager = new DatabaseManager();
+                    instance = manager;
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("Error inserting default admins: " + e.getMessage());
         }
+        return manager;
     }
     
-    private void insertDefaultNotices() {
-        String[] countries = {"India", "Bangladesh", "Japan", "Malaysia", "New Zealand", "Singapore"};
-        
+    // The instance if getInstance() has completed, without opening the database
+    public static DatabaseManager getInstanceIfOpen() {
+        return instance;
+    }
+    
+    private void initializeDatabase(PhaseTimer startup) {
         try (Connection conn = getConnection()) {
-            String checkSql = "SELECT COUNT(*) FROM notices WHERE country = ? AND notice_type = ?";
-            String insertSql = "INSERT INTO notices (country, title, content, notice_type, created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, datetime('now'), datetime('now'))";
+            // The first connection also loads the SQLite native library
+            startup.mark("connect");
             
-            for (String country : countries) {
-                // Check if default notices already exist for this country
-                try (PreparedStatement checkStmt = conn.prepareStatement(checkSql)) {
-                    checkStmt.setString(1, country);
-                    checkStmt.setString(2, "RULES");
-                    ResultSet rs = checkStmt.executeQuery();
-                    rs.next();
-                    
-                    if (rs.getInt(1) == 0) {
-                        // Insert default rules notice
-                        String rulesContent = "General Visa Requirements:\n" +
-                            "• Valid passport \n" +
-                            "• Completed application form\n" +
-                            "• Recent passport-size photographs\n" +
-                            "• Proof of financial means\n" +
-                            "• Return flight tickets\n" +
-                            "• Accommodation proof\n" +
-                            "• Travel insurance (recommended)\n\n" +
-                            "Processing Time: 10-15 business days\n" +
-                            "Please ensure all documents are authentic and up-to-date.";
-                        
-                        try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                            insertStmt.setString(1, country);
-                            insertStmt.setString(2, "Visa Application Requirements");
-                            insertStmt.setString(3, rulesContent);
-                            insertStmt.setString(4, "RULES");
-                            insertStmt.setString(5, "system");
-                            insertStmt.executeUpdate();
-                        }
-                        
-                        // Insert default rejection reasons notice
-                        String rejectionContent = "Common Reasons for Visa Rejection:\n" +
-                            "• Incomplete or incorrect application form\n" +
-                            "• Insufficient financial proof\n" +
-                            "• Invalid or expired documents\n" +
-                            "• Previous visa violations\n" +
-                            "• Suspicious travel history\n" +
-                            "• Missing required documents\n" +
-                            "• False information or fraud\n\n" +
-                            "To avoid rejection, please ensure all information is accurate and complete.";
-                        
-                        try (PreparedStatement insertStmt = conn.prepareStatement(insertSql)) {
-                            insertStmt.setString(1, country);
-                            insertStmt.setString(2, "Common Rejection Reasons");
-                            insertStmt.setString(3, rejectionContent);
-                            insertStmt.setString(4, "REJECTION_REASONS");
-                            insertStmt.setString(5, "system");
-                            insertStmt.executeUpdate();
-                        }
-                        
-                        System.out.println("Created default notices for: " + country);
-                    }
+            // Journal mode is stored in the database file, so it only needs to be set once
+            try (Statement stmt = conn.createStatement()) {
+                String journalMode;
+                try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+                    journalMode = rs.next() ? rs.getString(1) : "";
+                }
+                if (!durability.getJournalMode().equalsIgnoreCase(journalMode)) {
+                    stmt.execute("PRAGMA journal_mode = " + durability.getJournalMode());
                 }
             }
+            
+            LOG.debug("SQLite PRAGMA settings applied");
+            
+            // Create or upgrade tables and indexes; nothing to do unless the version changed
+            int applied = SchemaMigrator.migrate(conn);
+            LOG.info("Schema version " + SchemaMigrator.currentVersion(conn) +
+                    " (" + applied + " migration(s) applied)");
+            
+            // Default admins and notices are recreated on every start if they are missing
+            int seeded = SchemaMigrator.seedDefaults(conn);
+            if (seeded > 0) {
+                LOG.info("Created " + seeded + " default admin account(s) and notice(s)");
+            }
+            
+            LOG.info("Database initialized successfully");
+            startup.mark("schema");
+            
         } catch (SQLException e) {
-            System.err.println("Error inserting default notices: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error initializing database", e);
         }
     }
     
     // Hash password using SHA-256
-    private String hashPassword(String password) {
+    static String hashPassword(String password) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] hash = md.digest(password.getBytes());
@@ -277,24 +185,12 @@ public class DatabaseManager {
     
     // Verify admin login
     public Admin verifyAdmin(String username, String password) {
-        String sql = "SELECT * FROM admins WHERE username = ? AND password = ?";
+        String sql = "SELECT " + RowMappers.ADMIN_COLUMNS + " FROM admins WHERE username = ? AND password = ?";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, username);
-            stmt.setString(2, hashPassword(password));
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Admin(
-                    rs.getInt("id"),
-                    rs.getString("username"),
-                    rs.getString("country")
-                );
-            }
+        try {
+            return queryOne(sql, RowMappers.ADMIN, username, hashPassword(password));
         } catch (SQLException e) {
-            System.err.println("Error verifying admin: " + e.getMessage());
+            LOG.error("Error verifying admin", e);
         }
         
         return null;
@@ -302,202 +198,419 @@ public class DatabaseManager {
     
     // Verify applicant login
     public Applicant verifyApplicant(String applicationId, String password) {
-        String sql = "SELECT * FROM applicants WHERE application_id = ? AND password = ?";
+        String sql = "SELECT " + RowMappers.APPLICANT_COLUMNS + " FROM applicants WHERE application_id = ? AND password = ?";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, applicationId);
-            stmt.setString(2, hashPassword(password));
-            
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return new Applicant(
-                    rs.getInt("id"),
-                    rs.getString("application_id"),
-                    rs.getString("first_name"),
-                    rs.getString("last_name"),
-                    rs.getString("email"),
-                    rs.getString("country"),
-                    rs.getString("visa_type"),
-                    rs.getString("status")
-                );
-            }
+        try {
+            return queryOne(sql, RowMappers.APPLICANT, applicationId, hashPassword(password));
         } catch (SQLException e) {
-            System.err.println("Error verifying applicant: " + e.getMessage());
+            LOG.error("Error verifying applicant", e);
         }
         
         return null;
     }
     
+    // Everything the admin details screen shows; null if the application does not exist
+    public ApplicationRecord findApplicationRecord(String applicationId) throws SQLException {
+        return queryOne("SELECT " + RowMappers.APPLICATION_RECORD_COLUMNS + " FROM applicants WHERE application_id = ?",
+                RowMappers.APPLICATION_RECORD, applicationId);
+    }
+    
+    // Applicant dashboard view of their own application; null if it does not exist
+    public ApplicantProfile findApplicantProfile(String applicationId) throws SQLException {
+        return queryOne("SELECT " + RowMappers.APPLICANT_PROFILE_COLUMNS + " FROM applicants WHERE application_id = ?",
+                RowMappers.APPLICANT_PROFILE, applicationId);
+    }
+    
+    // Public status check; null if the application does not exist
+    public ApplicationStatusView findApplicationStatus(String applicationId) throws SQLException {
+        return queryOne("SELECT " + RowMappers.APPLICATION_STATUS_COLUMNS + " FROM applicants WHERE application_id = ?",
+                RowMappers.APPLICATION_STATUS, applicationId);
+    }
+    
+    // Only the status, for telling cheaply whether an application changed; null if it does not exist
+    public String findStatus(String applicationId) throws SQLException {
+        return queryOne("SELECT status FROM applicants WHERE application_id = ?", rs -> rs.getString(1), applicationId);
+    }
+    
+    // First row of a read-only lookup mapped by the given mapper, or null if there is none
+    private <T> T queryOne(String sql, RowMapper<T> mapper, String... params) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                stmt.setString(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? mapper.map(rs) : null;
+            }
+        }
+    }
+    
     // Create new applicant and return application ID and password
     public ApplicationCredentials createApplicant(
             String firstName, String lastName, String nationalId, String nationality,
             String passport, String email, String phone, String address,
             String country, String visaType) {
         
-        String applicationId = generateApplicationId();
-        String password = generatePassword();
-        
-        String sql = "INSERT INTO applicants (application_id, password, first_name, last_name, " +
-                "national_id, nationality, passport, email, phone, address, country, visa_type) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, applicationId);
-            stmt.setString(2, hashPassword(password));
-            stmt.setString(3, firstName);
-            stmt.setString(4, lastName);
-            stmt.setString(5, nationalId);
-            stmt.setString(6, nationality);
-            stmt.setString(7, passport);
-            stmt.setString(8, email);
-            stmt.setString(9, phone);
-            stmt.setString(10, address);
-            stmt.setString(11, country);
-            stmt.setString(12, visaType);
-            
-            stmt.executeUpdate();
-            
-            return new ApplicationCredentials(applicationId, password);
-            
+        try {
+            return submitApplication(new ApplicationSubmission(firstName, lastName, nationalId, nationality,
+                    passport, email, phone, address, country, visaType, Map.of(), List.of()));
         } catch (SQLException e) {
-            System.err.println("Error creating applicant: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error creating applicant", e);
         }
         
         return null;
     }
     
-    // Save additional visa details
-    public void saveVisaDetail(String applicationId, String fieldName, String fieldValue) {
-        String sql = "INSERT INTO visa_details (application_id, field_name, field_value) VALUES (?, ?, ?)";
-        
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, applicationId);
-            stmt.setString(2, fieldName);
-            stmt.setString(3, fieldValue);
-            stmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            System.err.println("Error saving visa detail: " + e.getMessage());
+    // Write an application with its visa details and documents in one transaction.
+    // Files are put into the document store first; blobs nothing else uses are removed again if the transaction fails.
+    public ApplicationCredentials submitApplication(ApplicationSubmission submission) throws SQLException {
+        List<StoredBlob> blobs;
+        try {
+            blobs = uploadDocuments(submission.getDocuments(), null).result().join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            throw new SQLException("Failed to copy document: " + cause.getMessage(), cause);
         }
+        return submitApplication(submission, blobs);
     }
     
-    // Generate application ID
-    private String generateApplicationId() {
-        Random random = new Random();
-        int randomNum = random.nextInt(9000000) + 1000000; // 7-digit number (1000000-9999999)
-        return "VSA" + randomNum;
+    // Start copying files into the document store in the background (see DocumentUpload)
+    public DocumentUpload uploadDocuments(List<File> files, DocumentUpload.Listener listener) {
+        return DocumentUpload.start(documentStore, files, this::isBlobReferenced, listener);
     }
     
-    // Get database connection (for dashboard controllers)
-    public Connection getConnection() throws SQLException {
-        // Log every connection to ensure we're using the same database file
-        if (Math.random() < 0.1) { // Log 10% of connections to avoid spam
-            System.out.println("[DB Connection] Using database: " + DB_FILE);
-        }
-        
-        Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-        
-        // Set SQLite to synchronous mode for immediate writes
-        try (Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA synchronous = FULL");
-            stmt.execute("PRAGMA journal_mode = DELETE");
-            stmt.execute("PRAGMA foreign_keys = ON");
-        } catch (SQLException e) {
-            System.err.println("Warning: Could not set PRAGMA settings: " + e.getMessage());
+    // Write an application whose files have already been uploaded. Blobs must be in the order of
+    // submission.getDocuments(); this call releases them, or discards them if the transaction fails.
+    public ApplicationCredentials submitApplication(ApplicationSubmission submission, List<StoredBlob> blobs)
+            throws SQLException {
+        boolean committed = false;
+        try {
+            ApplicationCredentials credentials = writeApplication(submission, blobs);
+            committed = true;
+            return credentials;
+        } finally {
+            releaseDocuments(blobs, committed);
         }
-        
-        return conn;
     }
     
-    // Update application status with visa duration (for approval)
-    public boolean updateApplicationStatus(String applicationId, String status, String visaDuration, String approvedBy) {
-        System.out.println("\n======== DATABASE UPDATE STARTING ========");
-        System.out.println("Application ID: " + applicationId);
-        System.out.println("New Status: " + status);
-        System.out.println("Duration: " + visaDuration);
-        System.out.println("Approved By: " + approvedBy);
-        
-        String sql = "UPDATE applicants SET status = ?, visa_duration = ?, approved_by = ?, approval_date = CURRENT_TIMESTAMP WHERE application_id = ?";
+    private ApplicationCredentials writeApplication(ApplicationSubmission submission, List<StoredBlob> blobs)
+            throws SQLException {
+        List<File> files = submission.getDocuments();
+        if (blobs.size() != files.size()) {
+            throw new IllegalArgumentException(blobs.size() + " blobs for " + files.size() + " documents");
+        }
+        String applicationId = idAllocator.next();
+        String password = generatePassword();
         
+        precheck.beginUpdate();
         try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false); // Start transaction
-            
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, status);
-                stmt.setString(2, visaDuration);
-                stmt.setString(3, approvedBy);
-                stmt.setString(4, applicationId);
-                
-                System.out.println("Executing UPDATE query...");
-                int rowsUpdated = stmt.executeUpdate();
-                System.out.println("Rows updated: " + rowsUpdated);
-                
-                if (rowsUpdated == 0) {
-                    System.err.println("✗ ERROR: No rows updated! Application ID '" + applicationId + "' not found in database!");
-                    conn.rollback();
-                    return false;
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO applicants (application_id, password, first_name, last_name, " +
+                        "national_id, nationality, passport, email, phone, address, country, visa_type) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    stmt.setString(1, applicationId);
+                    stmt.setString(2, hashPassword(password));
+                    stmt.setString(3, submission.getFirstName());
+                    stmt.setString(4, submission.getLastName());
+                    stmt.setString(5, submission.getNationalId());
+                    stmt.setString(6, submission.getNationality());
+                    stmt.setString(7, submission.getPassport());
+                    stmt.setString(8, submission.getEmail());
+                    stmt.setString(9, submission.getPhone());
+                    stmt.setString(10, submission.getAddress());
+                    stmt.setString(11, submission.getCountry());
+                    stmt.setString(12, submission.getVisaType());
+                    stmt.executeUpdate();
                 }
                 
-                conn.commit(); // Explicitly commit the transaction
-                System.out.println("✓ Transaction committed");
-                
-                // Force database to flush to disk
-                try (Statement checkpointStmt = conn.createStatement()) {
-                    checkpointStmt.execute("PRAGMA wal_checkpoint(FULL)");
-                    System.out.println("✓ Database checkpoint executed");
-                } catch (SQLException e) {
-                    // Ignore if WAL mode is not active
+                if (!submission.getVisaDetails().isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT INTO visa_detail_records (application_id, details) VALUES (?, ?)")) {
+                        stmt.setString(1, applicationId);
+                        stmt.setString(2, toJsonObject(submission.getVisaDetails()));
+                        stmt.executeUpdate();
+                    }
                 }
-            }
-            
-            // Verify with fresh connection
-            System.out.println("Opening new connection to verify...");
-            try (Connection verifyConn = getConnection();
-                 PreparedStatement verifyStmt = verifyConn.prepareStatement(
-                     "SELECT status, visa_duration, approved_by FROM applicants WHERE application_id = ?")) {
                 
-                verifyStmt.setString(1, applicationId);
-                ResultSet rs = verifyStmt.executeQuery();
+                if (!blobs.isEmpty()) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT INTO document_blobs (hash, size) VALUES (?, ?) ON CONFLICT (hash) DO NOTHING")) {
+                        for (StoredBlob blob : blobs) {
+                            stmt.setString(1, blob.getHash());
+                            stmt.setLong(2, blob.getSize());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                    // trg_documents_blob_insert counts each row against its blob
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "INSERT INTO documents (application_id, filename, file_path, file_type, file_size, blob_hash) " +
+                            "VALUES (?, ?, ?, ?, ?, ?)")) {
+                        for (int i = 0; i < blobs.size(); i++) {
+                            String filename = files.get(i).getName();
+                            StoredBlob blob = blobs.get(i);
+                            stmt.setString(1, applicationId);
+                            stmt.setString(2, filename);
+                            stmt.setString(3, blob.getPath().toAbsolutePath().toString());
+                            stmt.setString(4, getFileExtension(filename));
+                            stmt.setLong(5, blob.getSize());
+                            stmt.setString(6, blob.getHash());
+                            stmt.addBatch();
+                        }
+                        stmt.executeBatch();
+                    }
+                }
                 
-                if (rs.next()) {
-                    String dbStatus = rs.getString("status");
-                    String dbDuration = rs.getString("visa_duration");
-                    String dbApprovedBy = rs.getString("approved_by");
-                    
-                    System.out.println("✓ VERIFIED in DB:");
-                    System.out.println("  - Status: " + dbStatus);
-                    System.out.println("  - Duration: " + dbDuration);
-                    System.out.println("  - Approved By: " + dbApprovedBy);
-                    
-                    if (dbStatus.equals(status)) {
-                        System.out.println("✓✓✓ DATABASE UPDATE SUCCESSFUL ✓✓✓");
-                        System.out.println("========================================\n");
-                        return true;
+                conn.commit();
+                precheck.applicationSubmitted(submission.getNationalId(), submission.getPassport(), submission.getCountry());
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            precheck.endUpdate();
+        }
+        
+        LOG.info("Application " + applicationId + " submitted with " +
+                submission.getVisaDetails().size() + " detail(s) and " + blobs.size() + " document(s)");
+        return new ApplicationCredentials(applicationId, password);
+    }
+    
+    // Give back the blobs of an upload whose application is not going to be submitted after all
+    public void discardDocuments(List<StoredBlob> blobs) {
+        releaseDocuments(blobs, false);
+    }
+    
+    // Unpin blobs once their transaction is over; after a failure, blobs no committed document uses are deleted
+    private void releaseDocuments(List<StoredBlob> blobs, boolean committed) {
+        for (StoredBlob blob : blobs) {
+            if (committed) {
+                documentStore.release(blob);
+            } else {
+                documentStore.discard(blob, this::isBlobReferenced);
+            }
+        }
+    }
+    
+    private boolean isBlobReferenced(String hash) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT ref_count FROM document_blobs WHERE hash = ?")) {
+            stmt.setString(1, hash);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        }
+    }
+    
+    // Flat string map as a JSON object, keys in map order
+    private static String toJsonObject(Map<String, String> fields) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, String> field : fields.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendJsonString(json, field.getKey());
+            json.append(':');
+            if (field.getValue() == null) {
+                json.append("null");
+            } else {
+                appendJsonString(json, field.getValue());
+            }
+        }
+        return json.append('}').toString();
+    }
+    
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
                     } else {
-                        System.err.println("✗ ERROR: Status mismatch! Expected: " + status + ", Got: " + dbStatus);
-                        return false;
+                        json.append(c);
                     }
-                } else {
-                    System.err.println("✗ ERROR: Application not found in verification query!");
-                    return false;
-                }
             }
-            
+        }
+        json.append('"');
+    }
+    
+    private static String getFileExtension(String filename) {
+        int lastDot = filename.lastIndexOf('.');
+        if (lastDot > 0 && lastDot < filename.length() - 1) {
+            return filename.substring(lastDot + 1).toLowerCase();
+        }
+        return "unknown";
+    }
+    
+    // Get the pooled writer connection (use for anything that modifies the database).
+    // Closing the returned connection hands it back to the pool.
+    public Connection getConnection() throws SQLException {
+        return pool.acquireWriter();
+    }
+
+    // Get a pooled read-only connection (for dashboard and lookup queries)
+    public Connection getReadConnection() throws SQLException {
+        return pool.acquireReader();
+    }
+
+    public StatisticsService getStatisticsService() {
+        return statisticsService;
+    }
+    
+    // Views register here to refresh when anything (in this or another process) commits
+    public ChangeWatchService getChangeWatchService() {
+        return changeWatch;
+    }
+    
+    public DurabilityProfile getDurabilityProfile() {
+        return durability;
+    }
+    
+    // Pool wait time and utilization figures
+    public ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+
+    // Called on the watch thread after any commit. If another process wrote, the pre-check index may be
+    // missing its applications or bans: it stops answering from memory at once and is rebuilt.
+    private void databaseChanged() {
+        if (!otherProcessWroteSinceLastCheck()) {
+            return;
+        }
+        precheck.externalChange();
+        if (precheckRebuildQueued.compareAndSet(false, true)) {
+            DatabaseExecutor.run(() -> {
+                precheckRebuildQueued.set(false);
+                precheck.rebuild();
+            }).exceptionally(e -> {
+                LOG.warn("Could not rebuild the submission pre-check index", e);
+                return null;
+            });
+        }
+    }
+    
+    // Every write of this process goes through the single writer connection, and SQLite only moves a
+    // connection's data_version for commits made by other connections. A changed value therefore means
+    // another process committed. A reopened writer counts from scratch, so it cannot rule that out.
+    private boolean otherProcessWroteSinceLastCheck() {
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+            rs.next();
+            long version = rs.getLong(1);
+            Connection physical = conn.unwrap(Connection.class);
+            boolean changed = physical != lastWriter || version != lastWriterDataVersion;
+            lastWriter = physical;
+            lastWriterDataVersion = version;
+            return changed;
         } catch (SQLException e) {
-            System.err.println("✗ SQL ERROR: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("========================================\n");
-            System.err.println("✗ SQL ERROR: " + e.getMessage());
-            e.printStackTrace();
-            System.out.println("========================================\n");
-            return false;
+            LOG.debug(() -> "Could not read the writer's data_version: " + e.getMessage());
+            return true;
+        }
+    }
+    
+    // Close all pooled connections (called on application exit)
+    public void shutdown() {
+        changeWatch.shutdown();
+        if (checkpointScheduler != null) {
+            checkpointScheduler.shutdown();
+        }
+        LOG.info("[DB Pool] " + pool.getStats());
+        LOG.info("[Pre-check] " + precheck.getAnsweredInMemory() + " checks answered in memory, " +
+                 precheck.getCheckedInDatabase() + " sent to the database");
+        pool.close();
+    }
+    
+    // Move an application from expectedStatus to newStatus in a single conditional UPDATE.
+    // visaDuration and approvedBy are recorded alongside (visaDuration is null for rejections).
+    public StatusTransitionResult transitionStatus(String applicationId, String expectedStatus, String newStatus,
+                                                   String visaDuration, String approvedBy) throws SQLException {
+        StatusTransitionResult result;
+        precheck.beginUpdate();
+        try {
+            try (Connection conn = getConnection()) {
+                result = applyTransition(conn, applicationId, expectedStatus, newStatus, visaDuration, approvedBy);
+            }
+            // Still inside beginUpdate()/endUpdate(), so a concurrent rebuild cannot count the change twice
+            if (result.getOutcome() == StatusTransitionResult.Outcome.UPDATED) {
+                precheck.statusChanged(result.getNationalId(), result.getPassport(), result.getCountry(),
+                        expectedStatus, newStatus);
+            }
+        } finally {
+            precheck.endUpdate();
+        }
+        
+        // Listeners run with the writer returned, so they may query or write themselves
+        if (result.getOutcome() == StatusTransitionResult.Outcome.UPDATED) {
+            LOG.info(() -> "Application " + applicationId + ": " + expectedStatus + " → " + newStatus);
+            fireStatusChange(new StatusChange(applicationId, result.getCountry(), expectedStatus, newStatus));
+        }
+        return result;
+    }
+    
+    private StatusTransitionResult applyTransition(Connection conn, String applicationId, String expectedStatus,
+                                                   String newStatus, String visaDuration, String approvedBy) throws SQLException {
+        String sql = "UPDATE applicants SET status = ?, visa_duration = ?, approved_by = ?, approval_date = CURRENT_TIMESTAMP " +
+                     "WHERE application_id = ? AND status = ? RETURNING country, national_id, passport";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, newStatus);
+            stmt.setString(2, visaDuration);
+            stmt.setString(3, approvedBy);
+            stmt.setString(4, applicationId);
+            stmt.setString(5, expectedStatus);
+            
+            // The update is committed once its result set is closed
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new StatusTransitionResult(StatusTransitionResult.Outcome.UPDATED,
+                            newStatus, rs.getString("country"), rs.getString("national_id"), rs.getString("passport"));
+                }
+            }
+        }
+        
+        // Nothing matched: either the application does not exist or it has already moved on
+        try (PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT status, country, national_id, passport FROM applicants WHERE application_id = ?")) {
+            stmt.setString(1, applicationId);
+            ResultSet rs = stmt.executeQuery();
+            if (!rs.next()) {
+                LOG.warn("Application '" + applicationId + "' not found");
+                return new StatusTransitionResult(StatusTransitionResult.Outcome.NOT_FOUND, null, null, null, null);
+            }
+            LOG.warn("Application " + applicationId + " is " + rs.getString("status") +
+                               ", expected " + expectedStatus);
+            return new StatusTransitionResult(StatusTransitionResult.Outcome.CONFLICT, rs.getString("status"),
+                    rs.getString("country"), rs.getString("national_id"), rs.getString("passport"));
+        }
+    }
+    
+    // Listeners are called on the thread that made the change, after it has been committed and the writer
+    // connection returned to the pool
+    public void addStatusChangeListener(StatusChangeListener listener) {
+        statusChangeListeners.add(listener);
+    }
+    
+    public void removeStatusChangeListener(StatusChangeListener listener) {
+        statusChangeListeners.remove(listener);
+    }
+    
+    private void fireStatusChange(StatusChange change) {
+        for (StatusChangeListener listener : statusChangeListeners) {
+            try {
+                listener.statusChanged(change);
+            } catch (RuntimeException e) {
+                LOG.error("Status change listener failed", e);
+            }
         }
     }
     
@@ -516,6 +629,57 @@ public class DatabaseManager {
     }
     
     // Inner classes for return types
+    @FunctionalInterface
+    public interface StatusChangeListener {
+        void statusChanged(StatusChange change);
+    }
+    
+    // Outcome of transitionStatus; status is the application's status afterwards
+    public static class StatusTransitionResult {
+        public enum Outcome { UPDATED, NOT_FOUND, CONFLICT }
+        
+        private final Outcome outcome;
+        private final String status;
+        private final String country;
+        private final String nationalId;
+        private final String passport;
+        
+        public StatusTransitionResult(Outcome outcome, String status, String country, String nationalId, String passport) {
+            this.outcome = outcome;
+            this.status = status;
+            this.country = country;
+            this.nationalId = nationalId;
+            this.passport = passport;
+        }
+        
+        public Outcome getOutcome() { return outcome; }
+        public boolean isUpdated() { return outcome == Outcome.UPDATED; }
+        public String getStatus() { return status; }
+        public String getCountry() { return country; }
+        public String getNationalId() { return nationalId; }
+        public String getPassport() { return passport; }
+    }
+    
+    // A committed change of one application's status
+    public static class StatusChange {
+        private final String applicationId;
+        private final String country;
+        private final String oldStatus;
+        private final String newStatus;
+        
+        public StatusChange(String applicationId, String country, String oldStatus, String newStatus) {
+            this.applicationId = applicationId;
+            this.country = country;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+        
+        public String getApplicationId() { return applicationId; }
+        public String getCountry() { return country; }
+        public String getOldStatus() { return oldStatus; }
+        public String getNewStatus() { return newStatus; }
+    }
+    
     public static class Admin {
         private final int id;
         private final String username;
@@ -564,6 +728,151 @@ public class DatabaseManager {
         public String getStatus() { return status; }
     }
     
+    public static class ApplicationRecord {
+        private final String applicationId;
+        private final String firstName;
+        private final String lastName;
+        private final String nationalId;
+        private final String nationality;
+        private final String passport;
+        private final String email;
+        private final String phone;
+        private final String address;
+        private final String country;
+        private final String visaType;
+        private final String status;
+        private final String visaDuration;
+        private final String approvedBy;
+        private final String approvalDate;
+        private final String createdAt;
+        
+        public ApplicationRecord(String applicationId, String firstName, String lastName, String nationalId,
+                                 String nationality, String passport, String email, String phone,
+                                 String address, String country, String visaType, String status,
+                                 String visaDuration, String approvedBy, String approvalDate, String createdAt) {
+            this.applicationId = applicationId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.nationalId = nationalId;
+            this.nationality = nationality;
+            this.passport = passport;
+            this.email = email;
+            this.phone = phone;
+            this.address = address;
+            this.country = country;
+            this.visaType = visaType;
+            this.status = status;
+            this.visaDuration = visaDuration;
+            this.approvedBy = approvedBy;
+            this.approvalDate = approvalDate;
+            this.createdAt = createdAt;
+        }
+        
+        public String getApplicationId() { return applicationId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getNationalId() { return nationalId; }
+        public String getNationality() { return nationality; }
+        public String getPassport() { return passport; }
+        public String getEmail() { return email; }
+        public String getPhone() { return phone; }
+        public String getAddress() { return address; }
+        public String getCountry() { return country; }
+        public String getVisaType() { return visaType; }
+        public String getStatus() { return status; }
+        public String getVisaDuration() { return visaDuration; }
+        public String getApprovedBy() { return approvedBy; }
+        public String getApprovalDate() { return approvalDate; }
+        public String getCreatedAt() { return createdAt; }
+    }
+    
+    public static class ApplicantProfile {
+        private final String applicationId;
+        private final String firstName;
+        private final String lastName;
+        private final String nationality;
+        private final String email;
+        private final String phone;
+        private final String country;
+        private final String visaType;
+        private final String status;
+        private final String visaDuration;
+        private final String approvedBy;
+        private final String approvalDate;
+        private final String createdAt;
+        
+        public ApplicantProfile(String applicationId, String firstName, String lastName, String nationality,
+                                String email, String phone, String country, String visaType, String status,
+                                String visaDuration, String approvedBy, String approvalDate, String createdAt) {
+            this.applicationId = applicationId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.nationality = nationality;
+            this.email = email;
+            this.phone = phone;
+            this.country = country;
+            this.visaType = visaType;
+            this.status = status;
+            this.visaDuration = visaDuration;
+            this.approvedBy = approvedBy;
+            this.approvalDate = approvalDate;
+            this.createdAt = createdAt;
+        }
+        
+        public String getApplicationId() { return applicationId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getNationality() { return nationality; }
+        public String getEmail() { return email; }
+        public String getPhone() { return phone; }
+        public String getCountry() { return country; }
+        public String getVisaType() { return visaType; }
+        public String getStatus() { return status; }
+        public String getVisaDuration() { return visaDuration; }
+        public String getApprovedBy() { return approvedBy; }
+        public String getApprovalDate() { return approvalDate; }
+        public String getCreatedAt() { return createdAt; }
+    }
+    
+    public static class ApplicationStatusView {
+        private final String applicationId;
+        private final String firstName;
+        private final String lastName;
+        private final String country;
+        private final String visaType;
+        private final String status;
+        private final String visaDuration;
+        private final String approvedBy;
+        private final String approvalDate;
+        private final String createdAt;
+        
+        public ApplicationStatusView(String applicationId, String firstName, String lastName, String country,
+                                     String visaType, String status, String visaDuration, String approvedBy,
+                                     String approvalDate, String createdAt) {
+            this.applicationId = applicationId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.country = country;
+            this.visaType = visaType;
+            this.status = status;
+            this.visaDuration = visaDuration;
+            this.approvedBy = approvedBy;
+            this.approvalDate = approvalDate;
+            this.createdAt = createdAt;
+        }
+        
+        public String getApplicationId() { return applicationId; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getCountry() { return country; }
+        public String getVisaType() { return visaType; }
+        public String getStatus() { return status; }
+        public String getVisaDuration() { return visaDuration; }
+        public String getApprovedBy() { return approvedBy; }
+        public String getApprovalDate() { return approvalDate; }
+        public String getCreatedAt() { return createdAt; }
+    }
+    
     public static class ApplicationCredentials {
         private final String applicationId;
         private final String password;
@@ -585,9 +894,11 @@ public class DatabaseManager {
         private final String fileType;
         private final long fileSize;
         private final String uploadedAt;
+        // SHA-256 of the content in the document store; null for files stored before it existed
+        private final String blobHash;
         
         public DocumentInfo(int id, String applicationId, String filename, String filePath, 
-                          String fileType, long fileSize, String uploadedAt) {
+                          String fileType, long fileSize, String uploadedAt, String blobHash) {
             this.id = id;
             this.applicationId = applicationId;
             this.filename = filename;
@@ -595,6 +906,7 @@ public class DatabaseManager {
             this.fileType = fileType;
             this.fileSize = fileSize;
             this.uploadedAt = uploadedAt;
+            this.blobHash = blobHash;
         }
         
         public int getId() { return id; }
@@ -604,6 +916,7 @@ public class DatabaseManager {
         public String getFileType() { return fileType; }
         public long getFileSize() { return fileSize; }
         public String getUploadedAt() { return uploadedAt; }
+        public String getBlobHash() { return blobHash; }
     }
     
     // Save document information
@@ -612,7 +925,7 @@ public class DatabaseManager {
         String sql = "INSERT INTO documents (application_id, filename, file_path, file_type, file_size) " +
                     "VALUES (?, ?, ?, ?, ?)";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, applicationId);
@@ -622,23 +935,40 @@ public class DatabaseManager {
             pstmt.setLong(5, fileSize);
             
             int affected = pstmt.executeUpdate();
-            System.out.println("Document saved: " + filename + " for application " + applicationId);
+            LOG.debug(() -> "Document saved: " + filename + " for application " + applicationId);
             return affected > 0;
             
         } catch (SQLException e) {
-            System.err.println("Error saving document: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error saving document", e);
             return false;
         }
     }
     
+    // Visa-specific fields of an application in the order they were entered (empty if there are none)
+    public Map<String, String> getVisaDetails(String applicationId) throws SQLException {
+        Map<String, String> fields = new java.util.LinkedHashMap<>();
+        String sql = "SELECT d.key, d.value FROM visa_detail_records r, json_each(r.details) d " +
+                    "WHERE r.application_id = ? ORDER BY d.id";
+        
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, applicationId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    fields.put(rs.getString(1), rs.getString(2));
+                }
+            }
+        }
+        return fields;
+    }
+    
     // Get all documents for an application
     public java.util.List<DocumentInfo> getDocuments(String applicationId) {
         java.util.List<DocumentInfo> documents = new java.util.ArrayList<>();
-        String sql = "SELECT id, application_id, filename, file_path, file_type, file_size, uploaded_at " +
+        String sql = "SELECT id, application_id, filename, file_path, file_type, file_size, uploaded_at, blob_hash " +
                     "FROM documents WHERE application_id = ? ORDER BY uploaded_at DESC";
         
-        try (Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try (Connection conn = getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setString(1, applicationId);
@@ -652,13 +982,13 @@ public class DatabaseManager {
                     rs.getString("file_path"),
                     rs.getString("file_type"),
                     rs.getLong("file_size"),
-                    rs.getString("uploaded_at")
+                    rs.getString("uploaded_at"),
+                    rs.getString("blob_hash")
                 ));
             }
             
         } catch (SQLException e) {
-            System.err.println("Error retrieving documents: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error retrieving documents", e);
         }
         
         return documents;
@@ -668,6 +998,14 @@ public class DatabaseManager {
     
     // Add or update notice
     public boolean saveNotice(String country, String title, String content, String noticeType, String createdBy) {
+        try {
+            return writeNotice(country, title, content, noticeType, createdBy);
+        } finally {
+            noticeCache.invalidate(country);
+        }
+    }
+    
+    private boolean writeNotice(String country, String title, String content, String noticeType, String createdBy) {
         String checkSql = "SELECT id FROM notices WHERE country = ? AND notice_type = ?";
         String insertSql = "INSERT INTO notices (country, title, content, notice_type, created_by) VALUES (?, ?, ?, ?, ?)";
         String updateSql = "UPDATE notices SET title = ?, content = ?, updated_at = CURRENT_TIMESTAMP WHERE country = ? AND notice_type = ?";
@@ -701,38 +1039,19 @@ public class DatabaseManager {
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error saving notice: " + e.getMessage());
-            e.printStackTrace();
+            LOG.error("Error saving notice", e);
             return false;
         }
     }
     
-    // Get notices for a country
+    // Get notices for a country (served from the notice cache; the list is unmodifiable)
     public java.util.List<Notice> getNotices(String country) {
-        java.util.List<Notice> notices = new java.util.ArrayList<>();
-        String sql = "SELECT * FROM notices WHERE country = ? ORDER BY notice_type, updated_at DESC";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, country);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                notices.add(new Notice(
-                    rs.getInt("id"),
-                    rs.getString("country"),
-                    rs.getString("title"),
-                    rs.getString("content"),
-                    rs.getString("notice_type"),
-                    rs.getString("created_by"),
-                    rs.getString("created_at"),
-                    rs.getString("updated_at")
-                ));
-            }
+        try {
+            return noticeCache.get(country);
         } catch (SQLException e) {
-            System.err.println("Error retrieving notices: " + e.getMessage());
+            LOG.error("Error retrieving notices", e);
+            return java.util.List.of();
         }
-        return notices;
     }
     
     // Delete notice
@@ -743,23 +1062,27 @@ public class DatabaseManager {
             stmt.setInt(1, noticeId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error deleting notice: " + e.getMessage());
+            LOG.error("Error deleting notice", e);
             return false;
+        } finally {
+            // Only the id is known here, and notices change rarely enough to reload them all
+            noticeCache.invalidateAll();
         }
     }
     
     // ==================== MESSAGE MANAGEMENT ====================
     
-    // Send message from applicant
+    // Send message from applicant; the message is filed under the application's country
     public boolean sendApplicantMessage(String applicationId, String message) {
-        String sql = "INSERT INTO applicant_messages (application_id, message) VALUES (?, ?)";
+        String sql = "INSERT INTO applicant_messages (application_id, message, country) " +
+                    "SELECT application_id, ?, country FROM applicants WHERE application_id = ?";
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, applicationId);
-            stmt.setString(2, message);
+            stmt.setString(1, message);
+            stmt.setString(2, applicationId);
             return stmt.executeUpdate() > 0;
         } catch (SQLException e) {
-            System.err.println("Error sending message: " + e.getMessage());
+            LOG.error("Error sending message", e);
             return false;
         }
     }
@@ -767,69 +1090,75 @@ public class DatabaseManager {
     // Get messages for an application
     public java.util.List<ApplicantMessage> getMessagesForApplication(String applicationId) {
         java.util.List<ApplicantMessage> messages = new java.util.ArrayList<>();
-        String sql = "SELECT * FROM applicant_messages WHERE application_id = ? ORDER BY created_at DESC";
+        String sql = "SELECT " + RowMappers.MESSAGE_COLUMNS + " FROM applicant_messages " +
+                    "WHERE application_id = ? ORDER BY created_at DESC";
         
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, applicationId);
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                messages.add(new ApplicantMessage(
-                    rs.getInt("id"),
-                    rs.getString("application_id"),
-                    rs.getString("message"),
-                    rs.getString("status"),
-                    rs.getString("admin_reply"),
-                    rs.getString("created_at"),
-                    rs.getString("replied_at")
-                ));
+                messages.add(RowMappers.MESSAGE.map(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error retrieving messages: " + e.getMessage());
+            LOG.error("Error retrieving messages", e);
         }
         return messages;
     }
     
-    // Get all messages for admin (by country)
-    public java.util.List<ApplicantMessage> getAllMessagesForCountry(String country) {
-        java.util.List<ApplicantMessage> messages = new java.util.ArrayList<>();
-        String sql = "SELECT m.* FROM applicant_messages m " +
-                    "JOIN applicants a ON m.application_id = a.application_id " +
-                    "WHERE a.country = ? ORDER BY m.created_at DESC";
+    // One page of a country's inbox, newest first. Pass the last message of the previous page
+    // (or null for the first page); pages continue from it, so each costs the same.
+    public java.util.List<ApplicantMessage> getInboxPage(String country, ApplicantMessage after, int limit)
+            throws SQLException {
+        java.util.List<ApplicantMessage> messages = new java.util.ArrayList<>(limit);
+        String sql = "SELECT " + RowMappers.MESSAGE_COLUMNS + " FROM applicant_messages WHERE country = ?" +
+                    (after != null ? " AND (created_at, id) < (?, ?)" : "") +
+                    " ORDER BY created_at DESC, id DESC LIMIT ?";
         
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, country);
-            ResultSet rs = stmt.executeQuery();
-            
-            while (rs.next()) {
-                messages.add(new ApplicantMessage(
-                    rs.getInt("id"),
-                    rs.getString("application_id"),
-                    rs.getString("message"),
-                    rs.getString("status"),
-                    rs.getString("admin_reply"),
-                    rs.getString("created_at"),
-                    rs.getString("replied_at")
-                ));
+            int index = 1;
+            stmt.setString(index++, country);
+            if (after != null) {
+                stmt.setString(index++, after.getCreatedAt());
+                stmt.setInt(index++, after.getId());
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    messages.add(RowMappers.MESSAGE.map(rs));
+                }
             }
-        } catch (SQLException e) {
-            System.err.println("Error retrieving messages: " + e.getMessage());
         }
         return messages;
     }
     
-    // Mark message as read
-    public boolean markMessageAsRead(int messageId) {
-        String sql = "UPDATE applicant_messages SET status = 'READ' WHERE id = ?";
+    // Unread messages in a country's inbox, from the counter table maintained by triggers
+    public int getUnreadMessageCount(String country) throws SQLException {
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                 "SELECT unread FROM message_unread_counts WHERE country = ?")) {
+            stmt.setString(1, country);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+    
+    // Mark messages of one country's inbox as read in a single statement; returns how many were unread
+    public int markMessagesRead(String country, java.util.Collection<Integer> messageIds) throws SQLException {
+        if (messageIds.isEmpty()) {
+            return 0;
+        }
+        String ids = messageIds.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(",", "[", "]"));
+        String sql = "UPDATE applicant_messages SET status = 'READ' " +
+                    "WHERE id IN (SELECT value FROM json_each(?)) AND country = ? AND status = 'UNREAD'";
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, messageId);
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error marking message as read: " + e.getMessage());
-            return false;
+            stmt.setString(1, ids);
+            stmt.setString(2, country);
+            return stmt.executeUpdate();
         }
     }
     
@@ -837,10 +1166,13 @@ public class DatabaseManager {
     
     // Check if applicant is banned from reapplying
     public RejectionBan checkRejectionBan(String nationalId, String passport, String country) {
+        if (!precheck.mayBeBanned(nationalId, passport, country)) {
+            return new RejectionBan(false, null, null, null, 0);
+        }
         String sql = "SELECT * FROM rejection_history WHERE national_id = ? AND passport = ? AND country = ? " +
                     "AND ban_until_date > datetime('now') ORDER BY ban_until_date DESC LIMIT 1";
         
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, nationalId);
             stmt.setString(2, passport);
@@ -857,7 +1189,7 @@ public class DatabaseManager {
                 );
             }
         } catch (SQLException e) {
-            System.err.println("Error checking rejection ban: " + e.getMessage());
+            LOG.error("Error checking rejection ban", e);
         }
         return new RejectionBan(false, null, null, null, 0);
     }
@@ -868,8 +1200,9 @@ public class DatabaseManager {
                                       String rejectedBy) {
         String sql = "INSERT INTO rejection_history (application_id, national_id, passport, country, " +
                     "rejection_reason, ban_duration_months, ban_until_date, rejected_by) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, datetime('now', '+' || ? || ' months'), ?)";
+                    "VALUES (?, ?, ?, ?, ?, ?, datetime('now', '+' || ? || ' months'), ?) RETURNING ban_until_date";
         
+        precheck.beginUpdate();
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, applicationId);
@@ -880,21 +1213,36 @@ public class DatabaseManager {
             stmt.setInt(6, banDurationMonths);
             stmt.setInt(7, banDurationMonths);
             stmt.setString(8, rejectedBy);
-            return stmt.executeUpdate() > 0;
+            String banUntil;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return false;
+                }
+                banUntil = rs.getString(1);
+            } // Closing the result set commits the insert
+            if (banDurationMonths > 0) {
+                precheck.banRecorded(nationalId, passport, country, banUntil);
+            }
+            return true;
         } catch (SQLException e) {
-            System.err.println("Error adding rejection history: " + e.getMessage());
+            LOG.error("Error adding rejection history", e);
             return false;
+        } finally {
+            precheck.endUpdate();
         }
     }
     
     // Check for duplicate/existing application (Processing or Approved)
     public ApplicationInfo checkExistingApplication(String nationalId, String passport, String country) {
+        if (!precheck.mayHaveOpenApplication(nationalId, passport, country)) {
+            return null;
+        }
         String sql = "SELECT application_id, status, country, created_at FROM applicants " +
                     "WHERE national_id = ? AND passport = ? AND country = ? " +
                     "AND (status = 'Processing' OR status = 'Approved') " +
                     "ORDER BY created_at DESC LIMIT 1";
         
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, nationalId);
             stmt.setString(2, passport);
@@ -910,7 +1258,7 @@ public class DatabaseManager {
                 );
             }
         } catch (SQLException e) {
-            System.err.println("Error checking existing application: " + e.getMessage());
+            LOG.error("Error checking existing application", e);
         }
         return null;
     }
@@ -918,38 +1266,52 @@ public class DatabaseManager {
     // Get travel/rejection history for an applicant (all countries, filtered by nationality)
     public java.util.List<TravelHistory> getTravelHistory(String nationalId, String passport, String nationality) {
         java.util.List<TravelHistory> history = new java.util.ArrayList<>();
-        String sql = "SELECT a.application_id, a.country, a.visa_type, a.status, a.created_at, " +
-                    "r.rejection_reason, r.rejection_date, r.ban_until_date " +
-                    "FROM applicants a " +
-                    "LEFT JOIN rejection_history r ON a.application_id = r.application_id " +
-                    "WHERE a.national_id = ? AND a.passport = ? AND a.nationality = ? " +
-                    "ORDER BY a.created_at DESC";
+        String sql = "SELECT " + RowMappers.TRAVEL_HISTORY_COLUMNS + " FROM person_history " +
+                    "WHERE person_key = " + SchemaMigrator.personKey("?", "?", "?") + " ORDER BY applied_at DESC";
         
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, nationalId);
-            stmt.setString(2, passport);
-            stmt.setString(3, nationality);
+            stmt.setString(1, nationality);
+            stmt.setString(2, nationalId);
+            stmt.setString(3, passport);
             ResultSet rs = stmt.executeQuery();
             
             while (rs.next()) {
-                history.add(new TravelHistory(
-                    rs.getString("application_id"),
-                    rs.getString("country"),
-                    rs.getString("visa_type"),
-                    rs.getString("status"),
-                    rs.getString("created_at"),
-                    rs.getString("rejection_reason"),
-                    rs.getString("rejection_date"),
-                    rs.getString("ban_until_date")
-                ));
+                history.add(RowMappers.TRAVEL_HISTORY.map(rs));
             }
         } catch (SQLException e) {
-            System.err.println("Error retrieving travel history: " + e.getMessage());
+            LOG.error("Error retrieving travel history", e);
         }
         return history;
     }
     
+    // The travel history of whoever submitted an application, in one read; null if the application does not exist
+    public PersonHistory getPersonHistory(String applicationId) throws SQLException {
+        // The h.* columns are RowMappers.TRAVEL_HISTORY_COLUMNS
+        String sql = "SELECT h.application_id, h.country, h.visa_type, h.status, h.applied_at, " +
+                    "h.rejection_reason, h.rejection_date, h.ban_until_date, a.national_id, a.passport, a.nationality " +
+                    "FROM applicants a LEFT JOIN person_history h ON h.person_key = " +
+                    SchemaMigrator.personKey("a.national_id", "a.passport", "a.nationality") + " " +
+                    "WHERE a.application_id = ? ORDER BY h.applied_at DESC";
+        
+        try (Connection conn = getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, applicationId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                PersonHistory person = new PersonHistory(rs.getString(9), rs.getString(10), rs.getString(11));
+                do {
+                    if (rs.getString(1) != null) {
+                        person.entries.add(RowMappers.TRAVEL_HISTORY.map(rs));
+                    }
+                } while (rs.next());
+                return person;
+            }
+        }
+    }
+    
     // ==================== INNER CLASSES ====================
     
     public static class Notice {
@@ -1057,6 +1419,25 @@ public class DatabaseManager {
         public int getBanDurationMonths() { return banDurationMonths; }
     }
     
+    // A person's identity as given on an application, with all their applications newest first
+    public static class PersonHistory {
+        private final String nationalId;
+        private final String passport;
+        private final String nationality;
+        private final java.util.List<TravelHistory> entries = new java.util.ArrayList<>();
+        
+        public PersonHistory(String nationalId, String passport, String nationality) {
+            this.nationalId = nationalId;
+            this.passport = passport;
+            this.nationality = nationality;
+        }
+        
+        public String getNationalId() { return nationalId; }
+        public String getPassport() { return passport; }
+        public String getNationality() { return nationality; }
+        public java.util.List<TravelHistory> getEntries() { return entries; }
+    }
+    
     public static class TravelHistory {
         private final String applicationId;
         private final String country;
@@ -0,0 +1,48 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+/**
+ * Journal/sync combinations the SQLite store can run with.
+ * Selected at startup with -Dvisa.db.durability=strict|wal-full|wal-normal (default wal-full).
+ * wal-normal is opt-in: it trades the last few commits on a power loss for cheaper commits.
+ */
+public enum DurabilityProfile {
+    // Rollback journal with fsync on every commit (original behaviour, readers block writers)
+    STRICT("DELETE", "FULL"),
+    // Write-ahead log, fsync on every commit; a committed submission or decision survives a power loss
+    WAL_FULL("WAL", "FULL"),
+    // Write-ahead log, fsync at checkpoints only; a power loss may drop the last commits but never corrupts
+    WAL_NORMAL("WAL", "NORMAL");
+
+    public static final String PROPERTY = "visa.db.durability";
+
+    private static final Logger LOG = Logger.get(DurabilityProfile.class);
+
+    private final String journalMode;
+    private final String synchronous;
+
+    DurabilityProfile(String journalMode, String synchronous) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+    }
+
+    public String getJournalMode() { return journalMode; }
+    public String getSynchronous() { return synchronous; }
+    public boolean isWal() { return "WAL".equals(journalMode); }
+
+    public static DurabilityProfile fromSystemProperty() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null || value.isBlank()) {
+            return WAL_FULL;
+        }
+        String normalized = value.trim().toUpperCase().replace('-', '_');
+        for (DurabilityProfile profile : values()) {
+            if (profile.name().equals(normalized)) {
+                return profile;
+            }
+        }
+        LOG.warn("Unknown durability profile '" + value + "', using " + WAL_FULL);
+        return WAL_FULL;
+    }
+}
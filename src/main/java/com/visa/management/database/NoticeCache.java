@@ -0,0 +1,112 @@
+package com.visa.management.database;
+
+import com.visa.management.database.DatabaseManager.Notice;
+import com.visa.management.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-through cache of country notices. Notices change a few times a month but are read
+ * on every country selection, so each country's list is loaded once and kept until
+ * DatabaseManager.saveNotice or deleteNotice invalidates it.
+ * A load that overlaps an invalidation is returned to its caller but not cached.
+ */
+public class NoticeCache {
+    private static final Logger LOG = Logger.get(NoticeCache.class);
+
+    private static final String COLUMNS =
+            "id, country, title, content, notice_type, created_by, created_at, updated_at";
+    private static final RowMapper<Notice> NOTICE = rs -> new Notice(
+            rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8));
+
+    private final DatabaseManager dbManager;
+    private final Map<String, List<Notice>> byCountry = new ConcurrentHashMap<>();
+    // Bumped by every invalidation so in-flight loads can tell their result is stale.
+    // Writes to the map and the generation hold the lock, so no put can slip in after an invalidation.
+    private final Object lock = new Object();
+    private long generation;
+
+    public NoticeCache(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Notices for one country, ordered by type and newest first; the list is unmodifiable
+    public List<Notice> get(String country) throws SQLException {
+        List<Notice> cached = byCountry.get(country);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadGeneration = currentGeneration();
+        List<Notice> notices = new ArrayList<>();
+        String sql = "SELECT " + COLUMNS + " FROM notices WHERE country = ? ORDER BY notice_type, updated_at DESC";
+        try (Connection conn = dbManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, country);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notices.add(NOTICE.map(rs));
+                }
+            }
+        }
+
+        List<Notice> loaded = List.copyOf(notices);
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                byCountry.put(country, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    // Load every country's notices in one query
+    public void preload() throws SQLException {
+        long loadGeneration = currentGeneration();
+        Map<String, List<Notice>> grouped = new HashMap<>();
+        String sql = "SELECT " + COLUMNS + " FROM notices ORDER BY country, notice_type, updated_at DESC";
+        try (Connection conn = dbManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Notice notice = NOTICE.map(rs);
+                grouped.computeIfAbsent(notice.getCountry(), c -> new ArrayList<>()).add(notice);
+            }
+        }
+
+        synchronized (lock) {
+            if (generation == loadGeneration) {
+                grouped.forEach((country, notices) -> byCountry.putIfAbsent(country, List.copyOf(notices)));
+            }
+        }
+        LOG.debug(() -> "Notice cache warmed for " + grouped.size() + " countries");
+    }
+
+    public void invalidate(String country) {
+        synchronized (lock) {
+            generation++;
+            byCountry.remove(country);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation++;
+            byCountry.clear();
+        }
+    }
+
+    private long currentGeneration() {
+        synchronized (lock) {
+            return generation;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.visa.management.database;
+
+import com.visa.management.database.DatabaseManager.Admin;
+import com.visa.management.database.DatabaseManager.Applicant;
+import com.visa.management.database.DatabaseManager.ApplicantMessage;
+import com.visa.management.database.DatabaseManager.ApplicantProfile;
+import com.visa.management.database.DatabaseManager.ApplicationRecord;
+import com.visa.management.database.DatabaseManager.ApplicationStatusView;
+import com.visa.management.database.DatabaseManager.TravelHistory;
+
+/**
+ * Column lists and index-based mappers for the single-row applicant lookups.
+ * Each mapper reads its columns in the order of the matching *_COLUMNS constant,
+ * so the two must be changed together.
+ */
+final class RowMappers {
+
+    private RowMappers() {
+    }
+
+    static final String ADMIN_COLUMNS = "id, username, country";
+
+    static final RowMapper<Admin> ADMIN = rs -> new Admin(
+            rs.getInt(1), rs.getString(2), rs.getString(3));
+
+    static final String APPLICANT_COLUMNS =
+            "id, application_id, first_name, last_name, email, country, visa_type, status";
+
+    static final RowMapper<Applicant> APPLICANT = rs -> new Applicant(
+            rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8));
+
+    // Admin application details screen
+    static final String APPLICATION_RECORD_COLUMNS =
+            "application_id, first_name, last_name, national_id, nationality, passport, email, phone, " +
+            "address, country, visa_type, status, visa_duration, approved_by, approval_date, created_at";
+
+    static final RowMapper<ApplicationRecord> APPLICATION_RECORD = rs -> new ApplicationRecord(
+            rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8),
+            rs.getString(9), rs.getString(10), rs.getString(11), rs.getString(12),
+            rs.getString(13), rs.getString(14), rs.getString(15), rs.getString(16));
+
+    // Applicant dashboard
+    static final String APPLICANT_PROFILE_COLUMNS =
+            "application_id, first_name, last_name, nationality, email, phone, country, visa_type, " +
+            "status, visa_duration, approved_by, approval_date, created_at";
+
+    static final RowMapper<ApplicantProfile> APPLICANT_PROFILE = rs -> new ApplicantProfile(
+            rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8),
+            rs.getString(9), rs.getString(10), rs.getString(11), rs.getString(12),
+            rs.getString(13));
+
+    // Public status check
+    static final String APPLICATION_STATUS_COLUMNS =
+            "application_id, first_name, last_name, country, visa_type, status, visa_duration, " +
+            "approved_by, approval_date, created_at";
+
+    static final RowMapper<ApplicationStatusView> APPLICATION_STATUS = rs -> new ApplicationStatusView(
+            rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8),
+            rs.getString(9), rs.getString(10));
+
+    // Travel history dialogs, read from the person_history projection
+    static final String TRAVEL_HISTORY_COLUMNS =
+            "application_id, country, visa_type, status, applied_at, rejection_reason, rejection_date, ban_until_date";
+
+    static final RowMapper<TravelHistory> TRAVEL_HISTORY = rs -> new TravelHistory(
+            rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7), rs.getString(8));
+
+    // Applicant messages and the admin inbox
+    static final String MESSAGE_COLUMNS =
+            "id, application_id, message, status, admin_reply, created_at, replied_at";
+
+    static final RowMapper<ApplicantMessage> MESSAGE = rs -> new ApplicantMessage(
+            rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+            rs.getString(5), rs.getString(6), rs.getString(7));
+}
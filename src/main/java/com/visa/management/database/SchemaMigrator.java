@@ -0,0 +1,484 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Versioned schema migrations keyed on SQLite's PRAGMA user_version.
+ * Each migration runs in its own transaction together with the version bump, so an
+ * interrupted upgrade leaves the database at the last fully applied version.
+ * Add new migrations to the end of MIGRATIONS; never edit one that has shipped.
+ */
+public class SchemaMigrator {
+
+    private static final Logger LOG = Logger.get(SchemaMigrator.class);
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Baseline tables",
+            "CREATE TABLE IF NOT EXISTS admins (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "username TEXT UNIQUE NOT NULL, " +
+                "password TEXT NOT NULL, " +
+                "country TEXT NOT NULL, " +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP)",
+            "CREATE TABLE IF NOT EXISTS applicants (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "application_id TEXT UNIQUE NOT NULL, " +
+                "password TEXT NOT NULL, " +
+                "first_name TEXT NOT NULL, " +
+                "last_name TEXT NOT NULL, " +
+                "national_id TEXT NOT NULL, " +
+                "nationality TEXT NOT NULL, " +
+                "passport TEXT NOT NULL, " +
+                "email TEXT NOT NULL, " +
+                "phone TEXT NOT NULL, " +
+                "address TEXT NOT NULL, " +
+                "country TEXT NOT NULL, " +
+                "visa_type TEXT NOT NULL, " +
+                "status TEXT DEFAULT 'Processing', " +
+                "visa_duration TEXT, " +
+                "approved_by TEXT, " +
+                "approval_date DATETIME, " +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP)",
+            // Additional visa-specific information
+            "CREATE TABLE IF NOT EXISTS visa_details (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "application_id TEXT NOT NULL, " +
+                "field_name TEXT NOT NULL, " +
+                "field_value TEXT, " +
+                "FOREIGN KEY (application_id) REFERENCES applicants(application_id))",
+            // Country-specific notices from admin ('RULES', 'REJECTION_REASONS', 'GENERAL')
+            "CREATE TABLE IF NOT EXISTS notices (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "country TEXT NOT NULL, " +
+                "title TEXT NOT NULL, " +
+                "content TEXT NOT NULL, " +
+                "notice_type TEXT NOT NULL, " +
+                "created_by TEXT NOT NULL, " +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                "updated_at DATETIME DEFAULT CURRENT_TIMESTAMP)",
+            // Messages from applicants to admin ('UNREAD', 'READ', 'REPLIED')
+            "CREATE TABLE IF NOT EXISTS applicant_messages (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "application_id TEXT NOT NULL, " +
+                "message TEXT NOT NULL, " +
+                "status TEXT DEFAULT 'UNREAD', " +
+                "admin_reply TEXT, " +
+                "created_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                "replied_at DATETIME, " +
+                "FOREIGN KEY (application_id) REFERENCES applicants(application_id))",
+            // Rejections, used to prevent re-application during a ban (default 6 months)
+            "CREATE TABLE IF NOT EXISTS rejection_history (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "application_id TEXT NOT NULL, " +
+                "national_id TEXT NOT NULL, " +
+                "passport TEXT NOT NULL, " +
+                "country TEXT NOT NULL, " +
+                "rejection_reason TEXT, " +
+                "rejection_date DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                "ban_duration_months INTEGER DEFAULT 6, " +
+                "ban_until_date DATETIME, " +
+                "rejected_by TEXT NOT NULL, " +
+                "FOREIGN KEY (application_id) REFERENCES applicants(application_id))",
+            // Uploaded files
+            "CREATE TABLE IF NOT EXISTS documents (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "application_id TEXT NOT NULL, " +
+                "filename TEXT NOT NULL, " +
+                "file_path TEXT NOT NULL, " +
+                "file_type TEXT, " +
+                "file_size INTEGER, " +
+                "uploaded_at DATETIME DEFAULT CURRENT_TIMESTAMP, " +
+                "FOREIGN KEY (application_id) REFERENCES applicants(application_id))"),
+
+        new Migration(2, "Secondary indexes for dashboard, duplicate/ban checks and detail lookups",
+            // Admin dashboard: country + status filter ordered by created_at (rowid breaks ties)
+            "CREATE INDEX IF NOT EXISTS idx_applicants_country_status_created ON applicants(country, status, created_at)",
+            // Admin dashboard with the 'All' filter
+            "CREATE INDEX IF NOT EXISTS idx_applicants_country_created ON applicants(country, created_at)",
+            // checkExistingApplication: covers the filter, the sort and every selected column
+            "CREATE INDEX IF NOT EXISTS idx_applicants_identity ON applicants(national_id, passport, country, status, created_at, application_id)",
+            // getTravelHistory
+            "CREATE INDEX IF NOT EXISTS idx_applicants_person ON applicants(national_id, passport, nationality, created_at)",
+            // checkRejectionBan
+            "CREATE INDEX IF NOT EXISTS idx_rejection_identity ON rejection_history(national_id, passport, country, ban_until_date)",
+            // Travel history join
+            "CREATE INDEX IF NOT EXISTS idx_rejection_application ON rejection_history(application_id)",
+            // Detail screen: covering index so the table itself is never touched
+            "CREATE INDEX IF NOT EXISTS idx_visa_details_application ON visa_details(application_id, field_name, field_value)",
+            "CREATE INDEX IF NOT EXISTS idx_documents_application ON documents(application_id, uploaded_at)",
+            "CREATE INDEX IF NOT EXISTS idx_messages_application ON applicant_messages(application_id, created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_notices_country_type ON notices(country, notice_type)",
+            "ANALYZE"),
+
+        new Migration(3, "Per-country status counters maintained by triggers",
+            // One row per (country, status); NULL statuses are counted under ''
+            "CREATE TABLE IF NOT EXISTS application_status_counts (" +
+                "country TEXT NOT NULL, " +
+                "status TEXT NOT NULL, " +
+                "count INTEGER NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY (country, status)) WITHOUT ROWID",
+            "DELETE FROM application_status_counts",
+            "INSERT INTO application_status_counts (country, status, count) " +
+                "SELECT country, IFNULL(status, ''), COUNT(*) FROM applicants GROUP BY country, IFNULL(status, '')",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_count_insert AFTER INSERT ON applicants BEGIN " +
+                "INSERT INTO application_status_counts (country, status, count) VALUES (NEW.country, IFNULL(NEW.status, ''), 1) " +
+                "ON CONFLICT (country, status) DO UPDATE SET count = count + 1; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_count_update AFTER UPDATE OF country, status ON applicants " +
+                "WHEN OLD.country IS NOT NEW.country OR OLD.status IS NOT NEW.status BEGIN " +
+                "UPDATE application_status_counts SET count = count - 1 " +
+                "WHERE country = OLD.country AND status = IFNULL(OLD.status, ''); " +
+                "INSERT INTO application_status_counts (country, status, count) VALUES (NEW.country, IFNULL(NEW.status, ''), 1) " +
+                "ON CONFLICT (country, status) DO UPDATE SET count = count + 1; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_count_delete AFTER DELETE ON applicants BEGIN " +
+                "UPDATE application_status_counts SET count = count - 1 " +
+                "WHERE country = OLD.country AND status = IFNULL(OLD.status, ''); " +
+                "END"),
+
+        new Migration(4, "Persisted sequences for ID allocation",
+            // next_value is the first value not yet handed out to any process
+            "CREATE TABLE IF NOT EXISTS id_sequences (" +
+                "name TEXT PRIMARY KEY, " +
+                "next_value INTEGER NOT NULL) WITHOUT ROWID",
+            "INSERT OR IGNORE INTO id_sequences (name, next_value) VALUES ('application_id', 0)"),
+
+        new Migration(5, "Visa-specific details as one JSON object per application",
+            // Replaces the visa_details field-per-row table; keys keep the order the form was filled in
+            "CREATE TABLE IF NOT EXISTS visa_detail_records (" +
+                "application_id TEXT PRIMARY KEY REFERENCES applicants(application_id), " +
+                "details TEXT NOT NULL CHECK (json_valid(details))) WITHOUT ROWID",
+            "INSERT OR REPLACE INTO visa_detail_records (application_id, details) " +
+                "SELECT application_id, json_group_object(field_name, field_value) " +
+                "FROM (SELECT application_id, field_name, field_value FROM visa_details ORDER BY application_id, id) " +
+                "GROUP BY application_id",
+            "DROP INDEX IF EXISTS idx_visa_details_application",
+            "DROP TABLE IF EXISTS visa_details"),
+
+        new Migration(6, "Content-addressed document blobs with reference counts",
+            // One row per stored blob; ref_count is the number of documents rows pointing at it
+            "CREATE TABLE IF NOT EXISTS document_blobs (" +
+                "hash TEXT PRIMARY KEY, " +
+                "size INTEGER NOT NULL, " +
+                "ref_count INTEGER NOT NULL DEFAULT 0) WITHOUT ROWID",
+            // NULL for documents stored before the blob store existed (file_path is used as is)
+            "ALTER TABLE documents ADD COLUMN blob_hash TEXT REFERENCES document_blobs(hash)",
+            "CREATE INDEX IF NOT EXISTS idx_documents_blob ON documents(blob_hash)",
+            "CREATE TRIGGER IF NOT EXISTS trg_documents_blob_insert AFTER INSERT ON documents " +
+                "WHEN NEW.blob_hash IS NOT NULL BEGIN " +
+                "UPDATE document_blobs SET ref_count = ref_count + 1 WHERE hash = NEW.blob_hash; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_documents_blob_update AFTER UPDATE OF blob_hash ON documents " +
+                "WHEN OLD.blob_hash IS NOT NEW.blob_hash BEGIN " +
+                "UPDATE document_blobs SET ref_count = ref_count - 1 WHERE hash = OLD.blob_hash; " +
+                "UPDATE document_blobs SET ref_count = ref_count + 1 WHERE hash = NEW.blob_hash; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_documents_blob_delete AFTER DELETE ON documents " +
+                "WHEN OLD.blob_hash IS NOT NULL BEGIN " +
+                "UPDATE document_blobs SET ref_count = ref_count - 1 WHERE hash = OLD.blob_hash; " +
+                "END"),
+
+        new Migration(7, "Full-text search index over applicants",
+            // rowid = applicants.id. The trigram tokenizer matches any substring of 3+ characters,
+            // so partial passports, emails and phone numbers are found as well as names.
+            // Phones are indexed as digits only; details holds the visa-specific values.
+            "CREATE VIRTUAL TABLE IF NOT EXISTS applicant_search USING fts5(" +
+                "application_id, name, passport, national_id, email, phone, details, country UNINDEXED, " +
+                "tokenize = 'trigram')",
+            "DELETE FROM applicant_search",
+            "INSERT INTO applicant_search (rowid, application_id, name, passport, national_id, email, phone, details, country) " +
+                "SELECT a.id, a.application_id, a.first_name || ' ' || a.last_name, a.passport, a.national_id, a.email, " +
+                digitsOnly("a.phone") + ", " + detailValues("a.application_id") + ", a.country FROM applicants a",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_search_insert AFTER INSERT ON applicants BEGIN " +
+                "INSERT INTO applicant_search (rowid, application_id, name, passport, national_id, email, phone, details, country) " +
+                "VALUES (NEW.id, NEW.application_id, NEW.first_name || ' ' || NEW.last_name, NEW.passport, NEW.national_id, " +
+                "NEW.email, " + digitsOnly("NEW.phone") + ", " + detailValues("NEW.application_id") + ", NEW.country); " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_search_update AFTER UPDATE OF application_id, first_name, last_name, " +
+                "passport, national_id, email, phone, country ON applicants BEGIN " +
+                "UPDATE applicant_search SET application_id = NEW.application_id, name = NEW.first_name || ' ' || NEW.last_name, " +
+                "passport = NEW.passport, national_id = NEW.national_id, email = NEW.email, " +
+                "phone = " + digitsOnly("NEW.phone") + ", country = NEW.country WHERE rowid = NEW.id; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_search_delete AFTER DELETE ON applicants BEGIN " +
+                "DELETE FROM applicant_search WHERE rowid = OLD.id; " +
+                "END",
+            // Details are written after the applicant row in the same transaction
+            "CREATE TRIGGER IF NOT EXISTS trg_visa_details_search_insert AFTER INSERT ON visa_detail_records BEGIN " +
+                "UPDATE applicant_search SET details = " + detailValues("NEW.application_id") + " " +
+                "WHERE rowid = (SELECT id FROM applicants WHERE application_id = NEW.application_id); " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_visa_details_search_update AFTER UPDATE ON visa_detail_records BEGIN " +
+                "UPDATE applicant_search SET details = " + detailValues("NEW.application_id") + " " +
+                "WHERE rowid = (SELECT id FROM applicants WHERE application_id = NEW.application_id); " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_visa_details_search_delete AFTER DELETE ON visa_detail_records BEGIN " +
+                "UPDATE applicant_search SET details = NULL " +
+                "WHERE rowid = (SELECT id FROM applicants WHERE application_id = OLD.application_id); " +
+                "END",
+            "INSERT INTO applicant_search (applicant_search) VALUES ('optimize')"),
+
+        new Migration(8, "Per-person travel history projection",
+            // One row per application, clustered by person and date so a person's whole history is one
+            // range read. The rejection columns hold the application's latest rejection, if any.
+            "CREATE TABLE IF NOT EXISTS person_history (" +
+                "person_key TEXT NOT NULL, " +
+                "applied_at DATETIME NOT NULL, " +
+                "application_id TEXT NOT NULL, " +
+                "country TEXT NOT NULL, " +
+                "visa_type TEXT NOT NULL, " +
+                "status TEXT, " +
+                "rejection_reason TEXT, " +
+                "rejection_date DATETIME, " +
+                "ban_until_date DATETIME, " +
+                "PRIMARY KEY (person_key, applied_at, application_id)) WITHOUT ROWID",
+            "DELETE FROM person_history",
+            "INSERT INTO person_history (person_key, applied_at, application_id, country, visa_type, status, " +
+                "rejection_reason, rejection_date, ban_until_date) " +
+                "SELECT " + personKey("a.national_id", "a.passport", "a.nationality") + ", a.created_at, a.application_id, " +
+                "a.country, a.visa_type, a.status, r.rejection_reason, r.rejection_date, r.ban_until_date " +
+                "FROM applicants a LEFT JOIN rejection_history r ON r.id = " + latestRejection("a.application_id"),
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_history_insert AFTER INSERT ON applicants BEGIN " +
+                "INSERT INTO person_history (person_key, applied_at, application_id, country, visa_type, status) " +
+                "VALUES (" + personKey("NEW.national_id", "NEW.passport", "NEW.nationality") + ", NEW.created_at, " +
+                "NEW.application_id, NEW.country, NEW.visa_type, NEW.status); " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_history_update AFTER UPDATE OF status, country, visa_type ON applicants BEGIN " +
+                "UPDATE person_history SET status = NEW.status, country = NEW.country, visa_type = NEW.visa_type " +
+                "WHERE person_key = " + personKey("NEW.national_id", "NEW.passport", "NEW.nationality") + " " +
+                "AND applied_at = NEW.created_at AND application_id = NEW.application_id; " +
+                "END",
+            // Changes to the key columns move the row (not done by the application, but kept consistent)
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_history_rekey AFTER UPDATE OF national_id, passport, nationality, " +
+                "created_at, application_id ON applicants BEGIN " +
+                "DELETE FROM person_history WHERE person_key = " + personKey("OLD.national_id", "OLD.passport", "OLD.nationality") + " " +
+                "AND applied_at = OLD.created_at AND application_id = OLD.application_id; " +
+                "INSERT INTO person_history (person_key, applied_at, application_id, country, visa_type, status, " +
+                "rejection_reason, rejection_date, ban_until_date) " +
+                "SELECT " + personKey("NEW.national_id", "NEW.passport", "NEW.nationality") + ", NEW.created_at, " +
+                "NEW.application_id, NEW.country, NEW.visa_type, NEW.status, r.rejection_reason, r.rejection_date, r.ban_until_date " +
+                "FROM (SELECT 1) LEFT JOIN rejection_history r ON r.id = " + latestRejection("NEW.application_id") + "; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_applicants_history_delete AFTER DELETE ON applicants BEGIN " +
+                "DELETE FROM person_history WHERE person_key = " + personKey("OLD.national_id", "OLD.passport", "OLD.nationality") + " " +
+                "AND applied_at = OLD.created_at AND application_id = OLD.application_id; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_rejection_history_person AFTER INSERT ON rejection_history BEGIN " +
+                "UPDATE person_history SET rejection_reason = NEW.rejection_reason, rejection_date = NEW.rejection_date, " +
+                "ban_until_date = NEW.ban_until_date " +
+                "WHERE person_key = (SELECT " + personKey("national_id", "passport", "nationality") + " " +
+                "FROM applicants WHERE application_id = NEW.application_id) " +
+                "AND application_id = NEW.application_id; " +
+                "END"),
+
+        new Migration(9, "Per-country message inbox with unread counters",
+            // Copied from the applicant when the message is sent, so the inbox needs no join
+            "ALTER TABLE applicant_messages ADD COLUMN country TEXT",
+            "UPDATE applicant_messages SET country = " +
+                "(SELECT a.country FROM applicants a WHERE a.application_id = applicant_messages.application_id)",
+            // Inbox pages: newest first within a country
+            "CREATE INDEX IF NOT EXISTS idx_messages_country_created ON applicant_messages(country, created_at, id)",
+            "CREATE TABLE IF NOT EXISTS message_unread_counts (" +
+                "country TEXT PRIMARY KEY, " +
+                "unread INTEGER NOT NULL DEFAULT 0) WITHOUT ROWID",
+            "DELETE FROM message_unread_counts",
+            "INSERT INTO message_unread_counts (country, unread) " +
+                "SELECT country, COUNT(*) FROM applicant_messages " +
+                "WHERE status = 'UNREAD' AND country IS NOT NULL GROUP BY country",
+            "CREATE TRIGGER IF NOT EXISTS trg_messages_unread_insert AFTER INSERT ON applicant_messages " +
+                "WHEN NEW.status = 'UNREAD' AND NEW.country IS NOT NULL BEGIN " +
+                "INSERT INTO message_unread_counts (country, unread) VALUES (NEW.country, 1) " +
+                "ON CONFLICT (country) DO UPDATE SET unread = unread + 1; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_messages_unread_update AFTER UPDATE OF status, country ON applicant_messages " +
+                "WHEN (OLD.status = 'UNREAD') IS NOT (NEW.status = 'UNREAD') OR OLD.country IS NOT NEW.country BEGIN " +
+                "UPDATE message_unread_counts SET unread = unread - 1 " +
+                "WHERE OLD.status = 'UNREAD' AND country = OLD.country; " +
+                "INSERT INTO message_unread_counts (country, unread) " +
+                "SELECT NEW.country, 1 WHERE NEW.status = 'UNREAD' AND NEW.country IS NOT NULL " +
+                "ON CONFLICT (country) DO UPDATE SET unread = unread + 1; " +
+                "END",
+            "CREATE TRIGGER IF NOT EXISTS trg_messages_unread_delete AFTER DELETE ON applicant_messages " +
+                "WHEN OLD.status = 'UNREAD' BEGIN " +
+                "UPDATE message_unread_counts SET unread = unread - 1 WHERE country = OLD.country; " +
+                "END")
+    );
+
+    // SQL expression for the normalized identity a person's history is filed under: the three fields
+    // trimmed and upper-cased, spaces removed from the passport number. person_history must be rebuilt
+    // by a new migration if this ever changes.
+    public static String personKey(String nationalId, String passport, String nationality) {
+        return "upper(trim(" + nationality + ")) || '|' || upper(trim(" + nationalId + ")) || '|' || " +
+                "upper(replace(trim(" + passport + "), ' ', ''))";
+    }
+
+    // SQL expression for the id of an application's most recent rejection_history row
+    private static String latestRejection(String applicationId) {
+        return "(SELECT id FROM rejection_history WHERE application_id = " + applicationId + " " +
+                "ORDER BY rejection_date DESC, id DESC LIMIT 1)";
+    }
+
+    // SQL expression stripping the usual phone number punctuation from a column
+    private static String digitsOnly(String column) {
+        String expression = column;
+        for (String separator : new String[] {" ", "-", "(", ")", "+", "."}) {
+            expression = "replace(" + expression + ", '" + separator + "', '')";
+        }
+        return expression;
+    }
+
+    // SQL expression for the space-separated visa-specific values of one application
+    private static String detailValues(String applicationId) {
+        return "(SELECT group_concat(d.value, ' ') FROM visa_detail_records r, json_each(r.details) d " +
+                "WHERE r.application_id = " + applicationId + ")";
+    }
+
+    // Recreate any missing default admins and notices; runs on every start, not as a versioned migration,
+    // so a country whose notices were all deleted gets the defaults back on the next launch. Existing
+    // rows are never changed. Returns the number of rows inserted.
+    public static int seedDefaults(Connection conn) throws SQLException {
+        int inserted = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : defaultData()) {
+                inserted += stmt.executeUpdate(sql);
+            }
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return inserted;
+    }
+
+    // Seed statements for the default admins and notices; safe to run on a database that already has them
+    private static String[] defaultData() {
+        String[] countries = {"India", "Bangladesh", "Japan", "Malaysia", "New Zealand", "Singapore"};
+        String rulesContent = "General Visa Requirements:\n" +
+            "• Valid passport \n" +
+            "• Completed application form\n" +
+            "• Recent passport-size photographs\n" +
+            "• Proof of financial means\n" +
+            "• Return flight tickets\n" +
+            "• Accommodation proof\n" +
+            "• Travel insurance (recommended)\n\n" +
+            "Processing Time: 10-15 business days\n" +
+            "Please ensure all documents are authentic and up-to-date.";
+        String rejectionContent = "Common Reasons for Visa Rejection:\n" +
+            "• Incomplete or incorrect application form\n" +
+            "• Insufficient financial proof\n" +
+            "• Invalid or expired documents\n" +
+            "• Previous visa violations\n" +
+            "• Suspicious travel history\n" +
+            "• Missing required documents\n" +
+            "• False information or fraud\n\n" +
+            "To avoid rejection, please ensure all information is accurate and complete.";
+
+        StringBuilder admins = new StringBuilder("INSERT OR IGNORE INTO admins (username, password, country) VALUES ");
+        StringBuilder countryRows = new StringBuilder("(VALUES ");
+        for (int i = 0; i < countries.length; i++) {
+            String country = countries[i];
+            String username = "admin_" + country.toLowerCase().replace(" ", "_");
+            // Default password
+            String password = DatabaseManager.hashPassword(country.toLowerCase() + "123");
+            admins.append(i == 0 ? "" : ", ")
+                  .append("(").append(quote(username)).append(", ").append(quote(password)).append(", ")
+                  .append(quote(country)).append(")");
+            countryRows.append(i == 0 ? "" : ", ").append("(").append(quote(country)).append(")");
+        }
+        countryRows.append(")");
+
+        // A country gets both default notices if it has no RULES notice yet, so the RULES row goes in last
+        return new String[] {
+            admins.toString(),
+            defaultNotice(countryRows.toString(), "Common Rejection Reasons", rejectionContent, "REJECTION_REASONS"),
+            defaultNotice(countryRows.toString(), "Visa Application Requirements", rulesContent, "RULES")
+        };
+    }
+
+    private static String defaultNotice(String countryRows, String title, String content, String noticeType) {
+        return "INSERT INTO notices (country, title, content, notice_type, created_by, created_at, updated_at) " +
+                "SELECT c.column1, " + quote(title) + ", " + quote(content) + ", " + quote(noticeType) + ", " +
+                "'system', datetime('now'), datetime('now') FROM " + countryRows + " c " +
+                "WHERE NOT EXISTS (SELECT 1 FROM notices n WHERE n.country = c.column1 AND n.notice_type = 'RULES')";
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    public static int latestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Bring the database up to the latest schema version; returns the number of migrations applied
+    public static int migrate(Connection conn) throws SQLException {
+        return migrate(conn, latestVersion());
+    }
+
+    public static int migrate(Connection conn, int targetVersion) throws SQLException {
+        int current = currentVersion(conn);
+        if (current > latestVersion()) {
+            throw new SQLException("Database schema version " + current +
+                    " is newer than this application supports (" + latestVersion() + ")");
+        }
+
+        int applied = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current || migration.version > targetVersion) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                try (Statement stmt = conn.createStatement()) {
+                    for (String sql : migration.statements) {
+                        stmt.execute(sql);
+                    }
+                    stmt.execute("PRAGMA user_version = " + migration.version);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration " + migration.version + " (" +
+                            migration.description + ") failed: " + e.getMessage(), e);
+                }
+                applied++;
+                long elapsed = System.nanoTime() - start;
+                LOG.info(() -> String.format("Applied schema migration %d: %s (%.1f ms)",
+                        migration.version, migration.description, elapsed / 1_000_000.0));
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.visa.management.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, so hot lookups skip
+ * re-parsing their SQL on every checkout. Statements are handed out wrapped: close()
+ * resets the statement (closing its last ResultSet and clearing parameters) instead of
+ * finalizing it. If the same SQL is already checked out, a plain uncached statement is returned.
+ */
+final class StatementCache {
+
+    private final Connection physical;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, Entry> entries;
+
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    eldest.getValue().evict();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized PreparedStatement prepare(String sql) throws SQLException {
+        if (capacity <= 0) {
+            return physical.prepareStatement(sql);
+        }
+        Entry entry = entries.get(sql);
+        if (entry != null) {
+            if (entry.inUse) {
+                // Nested use of the same query on this connection
+                misses.incrementAndGet();
+                return physical.prepareStatement(sql);
+            }
+            if (!entry.statement.isClosed()) {
+                hits.incrementAndGet();
+                entry.inUse = true;
+                return entry.proxy;
+            }
+            entries.remove(sql);
+        }
+
+        misses.incrementAndGet();
+        entry = new Entry(physical.prepareStatement(sql));
+        entry.inUse = true;
+        entries.put(sql, entry);
+        return entry.proxy;
+    }
+
+    // Called when the connection goes back to the pool: reset anything the borrower left open
+    synchronized void releaseAll() {
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (entry.inUse) {
+                entry.release();
+            }
+        }
+    }
+
+    // Called before the physical connection is closed
+    synchronized void closeAll() {
+        List<Entry> all = new ArrayList<>(entries.values());
+        entries.clear();
+        for (Entry entry : all) {
+            entry.closeQuietly();
+        }
+    }
+
+    private final class Entry implements InvocationHandler {
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private ResultSet lastResult;
+        private boolean inUse;
+        private boolean evicted;
+
+        Entry(PreparedStatement statement) {
+            this.statement = statement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(), new Class<?>[]{PreparedStatement.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    synchronized (StatementCache.this) {
+                        if (inUse) {
+                            release();
+                        }
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + statement + "]";
+                default:
+                    if (!inUse) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(statement, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof ResultSet) {
+                        lastResult = (ResultSet) result;
+                    }
+                    return result;
+            }
+        }
+
+        // Reset for the next borrower; an open ResultSet would keep the read snapshot alive
+        void release() {
+            inUse = false;
+            try {
+                if (lastResult != null) {
+                    lastResult.close();
+                }
+                if (evicted) {
+                    statement.close();
+                } else {
+                    statement.clearParameters();
+                    statement.clearBatch();
+                }
+            } catch (SQLException e) {
+                // A statement that cannot be reset must not be handed out again
+                entries.values().remove(this);
+                closeQuietly();
+            } finally {
+                lastResult = null;
+            }
+        }
+
+        void evict() {
+            if (inUse) {
+                evicted = true;
+            } else {
+                closeQuietly();
+            }
+        }
+
+        void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Closing the connection finalizes it anyway
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.visa.management.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Application statistics for the admin dashboards.
+ * Counts come from the application_status_counts table, which triggers keep in step with
+ * every insert, status change and delete on applicants, so a lookup never scans applicants.
+ */
+public class StatisticsService {
+
+    private final DatabaseManager dbManager;
+
+    public StatisticsService(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Current counts for one country, read from the counter table
+    public StatusCounts getStatusCounts(String country) throws SQLException {
+        String query = "SELECT status, count FROM application_status_counts WHERE country = ?";
+        try (Connection conn = dbManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, country);
+            return readCounts(stmt.executeQuery());
+        }
+    }
+
+    // Recount from applicants in one grouped pass; used to check the counters
+    public StatusCounts countStatuses(String country) throws SQLException {
+        String query = "SELECT status, COUNT(*) FROM applicants WHERE country = ? GROUP BY status";
+        try (Connection conn = dbManager.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, country);
+            return readCounts(stmt.executeQuery());
+        }
+    }
+
+    private StatusCounts readCounts(ResultSet rs) throws SQLException {
+        int total = 0, processing = 0, approved = 0, rejected = 0;
+        while (rs.next()) {
+            String status = rs.getString(1);
+            int count = rs.getInt(2);
+            total += count;
+            if ("Processing".equals(status)) {
+                processing = count;
+            } else if ("Approved".equals(status)) {
+                approved = count;
+            } else if ("Rejected".equals(status)) {
+                rejected = count;
+            }
+        }
+        return new StatusCounts(total, processing, approved, rejected);
+    }
+
+    // Immutable snapshot of application counts by status
+    public static class StatusCounts {
+        private final int total;
+        private final int processing;
+        private final int approved;
+        private final int rejected;
+
+        public StatusCounts(int total, int processing, int approved, int rejected) {
+            this.total = total;
+            this.processing = processing;
+            this.approved = approved;
+            this.rejected = rejected;
+        }
+
+        public int getTotal() { return total; }
+        public int getProcessing() { return processing; }
+        public int getApproved() { return approved; }
+        public int getRejected() { return rejected; }
+
+        // Snapshot after one application moved from one status to another
+        public StatusCounts withStatusChange(String oldStatus, String newStatus) {
+            int[] counts = {processing, approved, rejected};
+            adjust(counts, oldStatus, -1);
+            adjust(counts, newStatus, 1);
+            return new StatusCounts(total, counts[0], counts[1], counts[2]);
+        }
+
+        private static void adjust(int[] counts, String status, int delta) {
+            if ("Processing".equals(status)) {
+                counts[0] += delta;
+            } else if ("Approved".equals(status)) {
+                counts[1] += delta;
+            } else if ("Rejected".equals(status)) {
+                counts[2] += delta;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StatusCounts other && total == other.total && processing == other.processing &&
+                   approved == other.approved && rejected == other.rejected;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(total, processing, approved, rejected);
+        }
+
+        @Override
+        public String toString() {
+            return "total=" + total + ", processing=" + processing +
+                   ", approved=" + approved + ", rejected=" + rejected;
+        }
+    }
+}
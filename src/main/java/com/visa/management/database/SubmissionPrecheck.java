@@ -0,0 +1,272 @@
+package com.visa.management.database;
+
+import com.visa.management.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory pre-check for new submissions. For every (national_id, passport, country) it keeps,
+ * under a 64-bit hash, the number of open (Processing or Approved) applications and the end of the
+ * latest ban. If an identity has neither, checkExistingApplication and checkRejectionBan can answer
+ * "no" without a query; anything else (including hash collisions) is confirmed against the database.
+ *
+ * The index is built from the database at startup and kept current by DatabaseManager as applications
+ * are submitted, change status and are rejected. Each such write is bracketed by beginUpdate()/endUpdate(),
+ * so a build never installs a snapshot that a write in flight may or may not be part of.
+ * Until a build has completed every check goes to the database. When another process sharing the
+ * file commits, DatabaseManager notices it through ChangeWatchService (within one poll interval) and
+ * calls externalChange(), after which every check again goes to the database until rebuild() finishes.
+ */
+public class SubmissionPrecheck {
+    private static final Logger LOG = Logger.get(SubmissionPrecheck.class);
+
+    private static final DateTimeFormatter SQLITE_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private final DatabaseManager dbManager;
+    private LongTable openApplications = new LongTable();
+    // Ban end in epoch seconds (UTC)
+    private LongTable bans = new LongTable();
+    private boolean ready;
+    // Writes between beginUpdate() and endUpdate()
+    private int updatesInFlight;
+    // Bumped by every write so a build that overlapped one can tell its snapshot is stale
+    private long modifications;
+
+    private final AtomicLong answeredInMemory = new AtomicLong();
+    private final AtomicLong checkedInDatabase = new AtomicLong();
+
+    public SubmissionPrecheck(DatabaseManager dbManager) {
+        this.dbManager = dbManager;
+    }
+
+    // Load the index from the database, replacing what is there
+    public void rebuild() throws SQLException {
+        for (int attempt = 1; attempt <= MAX_BUILD_ATTEMPTS; attempt++) {
+            long start = System.nanoTime();
+            long startModifications;
+            synchronized (this) {
+                while (updatesInFlight > 0) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while building the submission pre-check index", e);
+                    }
+                }
+                startModifications = modifications;
+            }
+
+            LongTable open = new LongTable();
+            LongTable banned = new LongTable();
+            try (Connection conn = dbManager.getReadConnection()) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT national_id, passport, country, COUNT(*) FROM applicants " +
+                        "WHERE status IN ('Processing', 'Approved') GROUP BY national_id, passport, country");
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        open.add(key(rs.getString(1), rs.getString(2), rs.getString(3)), rs.getLong(4));
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT national_id, passport, country, MAX(ban_until_date) FROM rejection_history " +
+                        "WHERE ban_until_date > datetime('now') GROUP BY national_id, passport, country");
+                     ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        banned.max(key(rs.getString(1), rs.getString(2), rs.getString(3)), parseUtc(rs.getString(4)));
+                    }
+                }
+            }
+
+            synchronized (this) {
+                if (modifications == startModifications) {
+                    openApplications = open;
+                    bans = banned;
+                    ready = true;
+                    long elapsed = System.nanoTime() - start;
+                    LOG.info(() -> String.format("Submission pre-check index built: %d identities with open applications, " +
+                            "%d banned (%.1f ms)", open.size(), banned.size(), elapsed / 1_000_000.0));
+                    return;
+                }
+            }
+            LOG.debug(() -> "Submission pre-check build overlapped an update; retrying");
+        }
+        synchronized (this) {
+            ready = false;
+        }
+        LOG.warn("Submission pre-check index could not be built; checks will query the database");
+    }
+
+    // False means the identity certainly has no Processing or Approved application
+    public boolean mayHaveOpenApplication(String nationalId, String passport, String country) {
+        boolean known;
+        synchronized (this) {
+            known = ready && openApplications.get(key(nationalId, passport, country)) <= 0;
+        }
+        return recordOutcome(known);
+    }
+
+    // False means the identity certainly has no ban in force
+    public boolean mayBeBanned(String nationalId, String passport, String country) {
+        long now = LocalDateTime.now(ZoneOffset.UTC).toEpochSecond(ZoneOffset.UTC);
+        boolean known;
+        synchronized (this) {
+            known = ready && bans.get(key(nationalId, passport, country)) <= now;
+        }
+        return recordOutcome(known);
+    }
+
+    private boolean recordOutcome(boolean answeredNo) {
+        (answeredNo ? answeredInMemory : checkedInDatabase).incrementAndGet();
+        return !answeredNo;
+    }
+
+    // Called before a write that changes applications or bans; must be paired with endUpdate()
+    synchronized void beginUpdate() {
+        updatesInFlight++;
+        modifications++;
+    }
+
+    synchronized void endUpdate() {
+        updatesInFlight--;
+        modifications++;
+        notifyAll();
+    }
+
+    // Called when another process may have changed applications or bans; the index answers nothing
+    // from memory until the next successful rebuild(), and a build already running starts over
+    synchronized void externalChange() {
+        ready = false;
+        modifications++;
+    }
+
+    // Called after a new application (status Processing) has been committed
+    synchronized void applicationSubmitted(String nationalId, String passport, String country) {
+        openApplications.add(key(nationalId, passport, country), 1);
+    }
+
+    // Called after a committed status change
+    synchronized void statusChanged(String nationalId, String passport, String country, String oldStatus, String newStatus) {
+        long delta = (isOpen(newStatus) ? 1 : 0) - (isOpen(oldStatus) ? 1 : 0);
+        if (delta != 0) {
+            openApplications.add(key(nationalId, passport, country), delta);
+        }
+    }
+
+    // Called after a rejection with a ban has been committed; banUntil as stored by SQLite (UTC)
+    synchronized void banRecorded(String nationalId, String passport, String country, String banUntil) {
+        bans.max(key(nationalId, passport, country), parseUtc(banUntil));
+    }
+
+    public long getAnsweredInMemory() {
+        return answeredInMemory.get();
+    }
+
+    public long getCheckedInDatabase() {
+        return checkedInDatabase.get();
+    }
+
+    private static boolean isOpen(String status) {
+        return "Processing".equals(status) || "Approved".equals(status);
+    }
+
+    private static long parseUtc(String sqliteDatetime) {
+        return LocalDateTime.parse(sqliteDatetime, SQLITE_DATETIME).toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // FNV-1a over the three fields (NUL separated), finished with the MurmurHash3 mixer
+    static long key(String nationalId, String passport, String country) {
+        long hash = 0xcbf29ce484222325L;
+        for (String part : new String[] {nationalId, passport, country}) {
+            for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            hash = (hash ^ 0) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0 ? 1 : hash; // 0 marks an empty slot
+    }
+
+    // Open-addressing long -> long map with linear probing. Entries are never removed; a count of
+    // zero or an expired ban simply answers "no". Not thread-safe.
+    private static class LongTable {
+        private long[] keys = new long[1024];
+        private long[] values = new long[1024];
+        private int size;
+
+        long get(long key) {
+            int mask = keys.length - 1;
+            for (int i = index(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return 0;
+        }
+
+        // Counts never go below zero
+        void add(long key, long delta) {
+            int slot = slot(key);
+            values[slot] = Math.max(0, values[slot] + delta);
+        }
+
+        void max(long key, long value) {
+            int slot = slot(key);
+            values[slot] = Math.max(values[slot], value);
+        }
+
+        int size() {
+            return size;
+        }
+
+        private int slot(long key) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = index(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            return i;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] != 0) {
+                    int i = index(oldKeys[j], mask);
+                    while (keys[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int index(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+    }
+}
@@ -126,7 +126,8 @@ public class DatabaseInspector {
         System.out.println("║                      VISA DETAILS TABLE                                ║");
         System.out.println("╚════════════════════════════════════════════════════════════════════════╝");
         
-        String query = "SELECT application_id, field_name, field_value FROM visa_details ORDER BY application_id, field_name";
+        String query = "SELECT r.application_id, d.key AS field_name, d.value AS field_value " +
+                      "FROM visa_detail_records r, json_each(r.details) d ORDER BY r.application_id, d.id";
         
         try (Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(query)) {
@@ -0,0 +1,147 @@
+package com.visa.management.debug;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HexFormat;
+
+/**
+ * Synthetic applicants for QueryBenchmark and the JMH benchmarks. Applicant i is fully determined by i,
+ * so a benchmark can pick existing rows without querying for them. Every person applies to three
+ * countries, every country gets messages, and a quarter of the rejections carry a ban that is still
+ * running.
+ *
+ * populate() writes the baseline (version 1) tables only; the later migrations build the derived
+ * tables (search index, history, counters) from them the same way an upgraded installation gets them.
+ */
+public final class GeneratedData {
+
+    public static final String PASSWORD = "bench-password";
+    // Bump whenever the generated rows change, so saved databases are generated again
+    public static final int VERSION = 2;
+
+    private static final String[] COUNTRIES = {"India", "Bangladesh", "Japan", "Malaysia", "New Zealand", "Singapore"};
+    private static final String[] STATUSES = {"Processing", "Approved", "Rejected"};
+    private static final String[] VISA_TYPES = {"Tourist Visa", "Medical Visa", "Student Visa", "Work Visa"};
+    private static final String[] NATIONALITIES = {"Bangladesh", "India", "Nepal", "Sri Lanka", "Vietnam"};
+    private static final int APPLICATIONS_PER_PERSON = 3;
+    private static final int BATCH_SIZE = 10_000;
+
+    private GeneratedData() {
+    }
+
+    // Application IDs as the allocator hands them out with visa.applicationId.scramble=false
+    public static String applicationId(int i) { return "VSA" + (1_000_000 + i); }
+    public static String nationalId(int i) { return String.valueOf(1_000_000_000L + person(i)); }
+    public static String passport(int i) { return "P" + (10_000_000 + person(i)); }
+    public static String nationality(int i) { return NATIONALITIES[person(i) % NATIONALITIES.length]; }
+    public static String firstName(int i) { return "First" + person(i); }
+    public static String lastName(int i) { return "Last" + person(i); }
+    public static String email(int i) { return "user" + person(i) + "@example.com"; }
+    public static String country(int i) { return COUNTRIES[i % COUNTRIES.length]; }
+    public static String visaType(int i) { return VISA_TYPES[i % VISA_TYPES.length]; }
+    public static String status(int i) { return STATUSES[(i / COUNTRIES.length) % STATUSES.length]; }
+    public static boolean hasMessage(int i) { return (i / COUNTRIES.length) % 10 == 0; }
+
+    private static int person(int i) { return i / APPLICATIONS_PER_PERSON; }
+
+    // Insert applicants 0..applicants-1 with their visa details, documents, messages and bans
+    public static void populate(Connection conn, int applicants) throws SQLException {
+        String password = sha256(PASSWORD);
+        conn.setAutoCommit(false);
+        try (PreparedStatement app = conn.prepareStatement(
+                 "INSERT INTO applicants (application_id, password, first_name, last_name, national_id, nationality, " +
+                 "passport, email, phone, address, country, visa_type, status, visa_duration, approved_by, approval_date, " +
+                 "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'Somewhere', ?, ?, ?, ?, ?, ?, " +
+                 "datetime('2020-01-01', '+' || ? || ' minutes'))");
+             PreparedStatement detail = conn.prepareStatement(
+                 "INSERT INTO visa_details (application_id, field_name, field_value) VALUES (?, ?, ?)");
+             PreparedStatement doc = conn.prepareStatement(
+                 "INSERT INTO documents (application_id, filename, file_path, file_type, file_size) VALUES (?, ?, ?, 'pdf', 1024)");
+             PreparedStatement message = conn.prepareStatement(
+                 "INSERT INTO applicant_messages (application_id, message, status, created_at) " +
+                 "VALUES (?, ?, ?, datetime('2020-01-01', '+' || ? || ' minutes'))");
+             PreparedStatement rejection = conn.prepareStatement(
+                 "INSERT INTO rejection_history (application_id, national_id, passport, country, rejection_reason, " +
+                 "rejection_date, ban_duration_months, ban_until_date, rejected_by) VALUES (?, ?, ?, ?, " +
+                 "'Insufficient funds', datetime('2020-01-01', '+' || ? || ' minutes'), 6, " +
+                 "datetime('now', '+6 months'), 'bench')")) {
+
+            for (int i = 0; i < applicants; i++) {
+                String appId = applicationId(i);
+                String status = status(i);
+                boolean decided = !"Processing".equals(status);
+                app.setString(1, appId);
+                app.setString(2, password);
+                app.setString(3, firstName(i));
+                app.setString(4, lastName(i));
+                app.setString(5, nationalId(i));
+                app.setString(6, nationality(i));
+                app.setString(7, passport(i));
+                app.setString(8, email(i));
+                app.setString(9, "+880" + person(i));
+                app.setString(10, country(i));
+                app.setString(11, visaType(i));
+                app.setString(12, status);
+                app.setString(13, "Approved".equals(status) ? "90 days" : null);
+                app.setString(14, decided ? "admin_bench" : null);
+                app.setString(15, decided ? "2024-01-01 00:00:00" : null);
+                app.setInt(16, i);
+                app.addBatch();
+
+                for (int f = 0; f < 6; f++) {
+                    detail.setString(1, appId);
+                    detail.setString(2, "field_" + f);
+                    detail.setString(3, "value " + f + " for " + appId);
+                    detail.addBatch();
+                }
+
+                doc.setString(1, appId);
+                doc.setString(2, "passport_" + i + ".pdf");
+                doc.setString(3, "documents/" + appId + "/passport_" + i + ".pdf");
+                doc.addBatch();
+
+                if (hasMessage(i)) {
+                    message.setString(1, appId);
+                    message.setString(2, "Question about application " + appId);
+                    message.setString(3, (i / COUNTRIES.length / 10) % 2 == 0 ? "UNREAD" : "READ");
+                    message.setInt(4, i);
+                    message.addBatch();
+                }
+
+                if ("Rejected".equals(status) && person(i) % 4 == 0) {
+                    rejection.setString(1, appId);
+                    rejection.setString(2, nationalId(i));
+                    rejection.setString(3, passport(i));
+                    rejection.setString(4, country(i));
+                    rejection.setInt(5, i);
+                    rejection.addBatch();
+                }
+
+                if ((i + 1) % BATCH_SIZE == 0 || i == applicants - 1) {
+                    app.executeBatch();
+                    detail.executeBatch();
+                    doc.executeBatch();
+                    message.executeBatch();
+                    rejection.executeBatch();
+                    conn.commit();
+                }
+            }
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Same hashing as DatabaseManager
+    private static String sha256(String value) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.visa.management.debug;
+
+import com.visa.management.database.SchemaMigrator;
+
+import java.io.File;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures the hot lookup queries against a generated database (see GeneratedData), first on the
+ * baseline schema (no secondary indexes) and then after running the index migrations.
+ * The JMH module under benchmarks/ measures the same operations through DatabaseManager.
+ *
+ * Usage: QueryBenchmark [applicantCount] [databaseFile]
+ * Defaults to 1,000,000 applicants in a temporary file.
+ */
+public class QueryBenchmark {
+
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int applicants = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        File dbFile = args.length > 1 ? new File(args[1]) : File.createTempFile("visadb-bench", ".db");
+        dbFile.delete();
+        dbFile.deleteOnExit();
+
+        System.out.println("╔════════════════════════════════════════════════════════════════════════╗");
+        System.out.println("║                        QUERY BENCHMARK                                 ║");
+        System.out.println("╚════════════════════════════════════════════════════════════════════════╝");
+        System.out.println("Applicants: " + applicants);
+        System.out.println("Database: " + dbFile.getAbsolutePath());
+
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + dbFile.getAbsolutePath())) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode = WAL");
+                stmt.execute("PRAGMA synchronous = OFF");
+            }
+
+            // Baseline schema only, so the first run shows the unindexed cost
+            SchemaMigrator.migrate(conn, 1);
+            long start = System.nanoTime();
+            GeneratedData.populate(conn, applicants);
+            System.out.printf("Generated data in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+            System.out.println("\n--- Without secondary indexes ---");
+            runQueries(conn, applicants);
+
+            start = System.nanoTime();
+            SchemaMigrator.migrate(conn);
+            System.out.printf("%nMigrated to schema version %d in %.1f s%n",
+                    SchemaMigrator.currentVersion(conn), (System.nanoTime() - start) / 1e9);
+
+            System.out.println("\n--- With secondary indexes ---");
+            runQueries(conn, applicants);
+
+            Random random = new Random(11);
+            time(conn, "Dashboard status counts (counter table)",
+                "SELECT status, count FROM application_status_counts WHERE country = ?",
+                stmt -> stmt.setString(1, randomCountry(random, applicants)));
+
+            String search = "SELECT a.application_id, a.first_name, a.last_name FROM applicant_search s " +
+                "JOIN applicants a ON a.id = s.rowid WHERE applicant_search MATCH ? AND s.country = ? " +
+                "ORDER BY s.rank LIMIT 50";
+            time(conn, "Search by partial passport (FTS, top 50)", search, stmt -> {
+                String passport = GeneratedData.passport(random.nextInt(applicants));
+                stmt.setString(1, "\"" + passport.substring(2, 8) + "\"");
+                stmt.setString(2, randomCountry(random, applicants));
+            });
+            time(conn, "Search by name (FTS, top 50)", search, stmt -> {
+                int i = random.nextInt(applicants);
+                stmt.setString(1, "\"" + GeneratedData.firstName(i) + "\" AND \"" + GeneratedData.lastName(i) + "\"");
+                stmt.setString(2, randomCountry(random, applicants));
+            });
+            time(conn, "Search by email fragment (FTS, top 50)", search, stmt -> {
+                String email = GeneratedData.email(random.nextInt(applicants));
+                stmt.setString(1, "\"" + email.substring(0, email.indexOf('@') + 1) + "\"");
+                stmt.setString(2, randomCountry(random, applicants));
+            });
+        }
+    }
+
+    private static void runQueries(Connection conn, int applicants) throws SQLException {
+        Random random = new Random(7);
+
+        time(conn, "Dashboard page (country + status, newest 50)",
+            "SELECT application_id, first_name, last_name, visa_type, nationality, status, created_at " +
+            "FROM applicants WHERE country = ? AND status = ? ORDER BY created_at DESC LIMIT 50",
+            stmt -> {
+                stmt.setString(1, randomCountry(random, applicants));
+                stmt.setString(2, GeneratedData.status(random.nextInt(applicants)));
+            });
+
+        time(conn, "Dashboard page (country, newest 50)",
+            "SELECT application_id, first_name, last_name, visa_type, nationality, status, created_at " +
+            "FROM applicants WHERE country = ? ORDER BY created_at DESC LIMIT 50",
+            stmt -> stmt.setString(1, randomCountry(random, applicants)));
+
+        time(conn, "Dashboard status counts (grouped scan)",
+            "SELECT status, COUNT(*) FROM applicants WHERE country = ? GROUP BY status",
+            stmt -> stmt.setString(1, randomCountry(random, applicants)));
+
+        time(conn, "checkExistingApplication",
+            "SELECT application_id, status, country, created_at FROM applicants " +
+            "WHERE national_id = ? AND passport = ? AND country = ? " +
+            "AND (status = 'Processing' OR status = 'Approved') ORDER BY created_at DESC LIMIT 1",
+            stmt -> {
+                int i = random.nextInt(applicants);
+                stmt.setString(1, GeneratedData.nationalId(i));
+                stmt.setString(2, GeneratedData.passport(i));
+                stmt.setString(3, randomCountry(random, applicants));
+            });
+
+        time(conn, "checkRejectionBan",
+            "SELECT * FROM rejection_history WHERE national_id = ? AND passport = ? AND country = ? " +
+            "AND ban_until_date > datetime('now') ORDER BY ban_until_date DESC LIMIT 1",
+            stmt -> {
+                int i = random.nextInt(applicants);
+                stmt.setString(1, GeneratedData.nationalId(i));
+                stmt.setString(2, GeneratedData.passport(i));
+                stmt.setString(3, randomCountry(random, applicants));
+            });
+
+        // Field-per-row table until migration 5 folds it into one JSON record per application
+        boolean jsonDetails = SchemaMigrator.currentVersion(conn) >= 5;
+        time(conn, jsonDetails ? "Visa details lookup (JSON record)" : "Visa details lookup (row per field)",
+            jsonDetails
+                ? "SELECT d.key, d.value FROM visa_detail_records r, json_each(r.details) d " +
+                  "WHERE r.application_id = ? ORDER BY d.id"
+                : "SELECT field_name, field_value FROM visa_details WHERE application_id = ? ORDER BY field_name",
+            stmt -> stmt.setString(1, GeneratedData.applicationId(random.nextInt(applicants))));
+
+        time(conn, "getDocuments",
+            "SELECT id, application_id, filename, file_path, file_type, file_size, uploaded_at " +
+            "FROM documents WHERE application_id = ? ORDER BY uploaded_at DESC",
+            stmt -> stmt.setString(1, GeneratedData.applicationId(random.nextInt(applicants))));
+
+        // Joined from applicants until migration 8 adds the per-person projection DatabaseManager reads
+        boolean projection = SchemaMigrator.currentVersion(conn) >= 8;
+        time(conn, projection ? "getTravelHistory (person_history)" : "getTravelHistory (applicants join)",
+            projection
+                ? "SELECT application_id, country, visa_type, status, applied_at, rejection_reason, rejection_date, " +
+                  "ban_until_date FROM person_history WHERE person_key = " + SchemaMigrator.personKey("?", "?", "?") +
+                  " ORDER BY applied_at DESC"
+                : "SELECT a.application_id, a.country, a.visa_type, a.status, a.created_at, " +
+                  "r.rejection_reason, r.rejection_date, r.ban_until_date " +
+                  "FROM applicants a LEFT JOIN rejection_history r ON a.application_id = r.application_id " +
+                  "WHERE a.national_id = ? AND a.passport = ? AND a.nationality = ? ORDER BY a.created_at DESC",
+            stmt -> {
+                int i = random.nextInt(applicants);
+                // personKey puts the nationality first
+                stmt.setString(projection ? 2 : 1, GeneratedData.nationalId(i));
+                stmt.setString(projection ? 3 : 2, GeneratedData.passport(i));
+                stmt.setString(projection ? 1 : 3, GeneratedData.nationality(i));
+            });
+    }
+
+    private static String randomCountry(Random random, int applicants) {
+        return GeneratedData.country(random.nextInt(applicants));
+    }
+
+    private static void time(Connection conn, String label, String sql, Binder binder) throws SQLException {
+        // Unindexed scans over a large table are slow; cap the sample so the run stays practical
+        long[] samples = new long[ITERATIONS];
+        int taken = 0;
+        long budget = System.nanoTime() + 20_000_000_000L;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (; taken < ITERATIONS && System.nanoTime() < budget; taken++) {
+                binder.bind(stmt);
+                long start = System.nanoTime();
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getString(1);
+                    }
+                }
+                samples[taken] = System.nanoTime() - start;
+            }
+        }
+        long[] sorted = Arrays.copyOf(samples, taken);
+        Arrays.sort(sorted);
+        double avg = Arrays.stream(sorted).average().orElse(0) / 1e6;
+        System.out.printf("%-48s n=%-4d avg=%9.3f ms  p50=%9.3f ms  p99=%9.3f ms%n",
+                label, taken, avg, percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)));
+        return sorted[index] / 1e6;
+    }
+
+    private interface Binder {
+        void bind(PreparedStatement stmt) throws SQLException;
+    }
+}
@@ -0,0 +1,255 @@
+package com.visa.management.documents;
+
+import com.visa.management.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongConsumer;
+
+/**
+ * Content-addressed store for uploaded documents. Each distinct file is kept once under
+ * blobs/<first two hex digits>/<SHA-256>, so a passport scan attached to several applications
+ * takes the space of one. Files are hashed while they are copied into a temporary file,
+ * which is then renamed into place atomically; a reader never sees a partial blob.
+ *
+ * Which blobs are still needed is tracked by the caller (DatabaseManager keeps reference counts
+ * in document_blobs). Between ingest() and release()/discard() a blob is pinned in memory so that
+ * a failed submission cannot delete a file another submission in this process has just started to use.
+ */
+public class DocumentStore {
+    private static final Logger LOG = Logger.get(DocumentStore.class);
+
+    // Bytes copied between progress reports and cancellation checks
+    private static final long CHUNK_BYTES = 1024 * 1024;
+    // A temp file untouched for this long was left by a crash; younger ones may belong to another running process
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(24);
+    // Reference checks that overlapped an ingest before a blob is kept instead of deleted
+    private static final int MAX_DELETE_ATTEMPTS = 3;
+
+    private final Path blobDir;
+    private final Path tempDir;
+    // Blobs ingested by this process whose referencing transaction has not finished yet
+    private final Map<String, Integer> pinned = new HashMap<>();
+    // Bumped whenever a blob is pinned, so a reference check that overlapped an ingest can tell
+    private long pins;
+
+    public DocumentStore(Path root) {
+        this.blobDir = root.resolve("blobs");
+        this.tempDir = root.resolve("tmp");
+        removeLeftoverTempFiles();
+    }
+
+    // Copy a file into the store (or find the existing copy) and pin it until release()
+    public StoredBlob ingest(Path source) throws IOException {
+        return ingest(source, copied -> { }, () -> false);
+    }
+
+    // As ingest(Path), reporting the bytes copied so far after each chunk and stopping with a
+    // CancellationException as soon as cancelled returns true
+    public StoredBlob ingest(Path source, LongConsumer progress, BooleanSupplier cancelled) throws IOException {
+        Files.createDirectories(tempDir);
+        Path temp = Files.createTempFile(tempDir, "ingest-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                WritableByteChannel sink = new DigestingChannel(out, digest);
+                long total = in.size();
+                long position = 0;
+                while (position < total) {
+                    if (cancelled.getAsBoolean()) {
+                        throw new CancellationException("Copy of " + source.getFileName() + " cancelled");
+                    }
+                    long transferred = in.transferTo(position, Math.min(CHUNK_BYTES, total - position), sink);
+                    if (transferred <= 0) {
+                        break; // File shrank while being read
+                    }
+                    position += transferred;
+                    progress.accept(position);
+                }
+                out.force(true);
+                size = position;
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = pathFor(hash);
+            synchronized (this) {
+                pinned.merge(hash, 1, Integer::sum);
+                pins++;
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    try {
+                        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                    } catch (FileAlreadyExistsException e) {
+                        // Stored by another process in the meantime; same content
+                    } catch (IOException e) {
+                        unpin(hash);
+                        throw e;
+                    }
+                }
+            }
+            return new StoredBlob(hash, size, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Unpin a blob after the transaction referencing it has committed
+    public synchronized void release(StoredBlob blob) {
+        unpin(blob.getHash());
+    }
+
+    // Unpin a blob after its transaction failed, deleting it unless it is pinned or referenced elsewhere
+    public void discard(StoredBlob blob, ReferenceCheck references) {
+        synchronized (this) {
+            unpin(blob.getHash());
+        }
+        delete(blob.getHash(), references);
+    }
+
+    // Delete a blob nothing refers to any more (ignored while it is pinned). The reference check queries
+    // the database, so it runs outside the store lock; if a blob was pinned meanwhile, the ingest may be
+    // about to reference this one and the check is repeated.
+    public void delete(String hash, ReferenceCheck references) {
+        try {
+            for (int attempt = 1; attempt <= MAX_DELETE_ATTEMPTS; attempt++) {
+                long pinsBefore;
+                synchronized (this) {
+                    if (pinned.containsKey(hash)) {
+                        return;
+                    }
+                    pinsBefore = pins;
+                }
+                if (references.isReferenced(hash)) {
+                    return;
+                }
+                synchronized (this) {
+                    if (pins == pinsBefore) {
+                        Files.deleteIfExists(pathFor(hash));
+                        return;
+                    }
+                }
+            }
+            LOG.debug(() -> "Keeping blob " + hash + ": uploads kept overlapping its reference check");
+        } catch (Exception e) {
+            // Keeping an unused blob is harmless; deleting a used one is not
+            LOG.warn("Could not delete blob " + hash, e);
+        }
+    }
+
+    public Path pathFor(String hash) {
+        return blobDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    // Blobs have no extension, so desktop viewers get a temporary copy under the original name
+    public static Path viewableCopy(Path blob, String filename) throws IOException {
+        Path copy = Files.createTempFile("visa-doc-", "-" + filename.replaceAll("[\\\\/:*?\"<>|]", "_"));
+        copy.toFile().deleteOnExit();
+        return Files.copy(blob, copy, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void unpin(String hash) {
+        pinned.computeIfPresent(hash, (h, count) -> count > 1 ? count - 1 : null);
+    }
+
+    // Temp files are only left behind by a crash mid-copy. Another process sharing the store may be
+    // writing one right now, so only those that have not been touched for a while are removed.
+    private void removeLeftoverTempFiles() {
+        if (!Files.isDirectory(tempDir)) {
+            return;
+        }
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_AGE);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(tempDir, "*.part")) {
+            for (Path leftover : leftovers) {
+                try {
+                    if (Files.getLastModifiedTime(leftover).toInstant().isBefore(staleBefore)) {
+                        Files.deleteIfExists(leftover);
+                    }
+                } catch (NoSuchFileException e) {
+                    // Moved into place or removed by its owner meanwhile
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not clean " + tempDir, e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Passes bytes through to the target channel, adding them to the digest on the way
+    private static class DigestingChannel implements WritableByteChannel {
+        private final FileChannel target;
+        private final MessageDigest digest;
+
+        DigestingChannel(FileChannel target, MessageDigest digest) {
+            this.target = target;
+            this.digest = digest;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            ByteBuffer view = src.duplicate();
+            int written = target.write(src);
+            view.limit(view.position() + written);
+            digest.update(view);
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return target.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            target.close();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ReferenceCheck {
+        boolean isReferenced(String hash) throws Exception;
+    }
+
+    // A blob in the store; size is in bytes
+    public static class StoredBlob {
+        private final String hash;
+        private final long size;
+        private final Path path;
+
+        public StoredBlob(String hash, long size, Path path) {
+            this.hash = hash;
+            this.size = size;
+            this.path = path;
+        }
+
+        public String getHash() { return hash; }
+        public long getSize() { return size; }
+        public Path getPath() { return path; }
+    }
+}
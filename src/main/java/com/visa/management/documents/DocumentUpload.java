@@ -0,0 +1,147 @@
+package com.visa.management.documents;
+
+import com.visa.management.documents.DocumentStore.ReferenceCheck;
+import com.visa.management.documents.DocumentStore.StoredBlob;
+import com.visa.management.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Copies a set of files into the DocumentStore in the background, several at a time.
+ * All uploads share one bounded pool (visa.upload.parallelism threads, default 3), so large
+ * submissions cannot flood the disk. Progress is kept per file and can be read at any time;
+ * the listener is only told that something changed. If any copy fails or the upload is
+ * cancelled, the remaining copies stop and every blob this upload added is discarded again.
+ */
+public class DocumentUpload {
+    private static final Logger LOG = Logger.get(DocumentUpload.class);
+
+    private static final int PARALLELISM = Math.max(1, Integer.getInteger("visa.upload.parallelism", 3));
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService COPY_POOL = Executors.newFixedThreadPool(PARALLELISM, r -> {
+        Thread thread = new Thread(r, "document-copy-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Called from copy threads whenever progress changes; keep it cheap
+    @FunctionalInterface
+    public interface Listener {
+        void progressChanged(DocumentUpload upload);
+    }
+
+    private final DocumentStore store;
+    private final List<File> files;
+    private final ReferenceCheck references;
+    private final Listener listener;
+    private final long[] sizes;
+    private final long totalBytes;
+    private final AtomicLongArray copied;
+    private final CompletableFuture<List<StoredBlob>> result = new CompletableFuture<>();
+    // The copy failure that stopped the upload (the other copies then end with CancellationException)
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    private DocumentUpload(DocumentStore store, List<File> files, ReferenceCheck references, Listener listener) {
+        this.store = store;
+        this.files = List.copyOf(files);
+        this.references = references;
+        this.listener = listener;
+        this.sizes = this.files.stream().mapToLong(File::length).toArray();
+        this.totalBytes = Arrays.stream(sizes).sum();
+        this.copied = new AtomicLongArray(sizes.length);
+    }
+
+    // Start copying; the listener may be null
+    public static DocumentUpload start(DocumentStore store, List<File> files, ReferenceCheck references,
+                                       Listener listener) {
+        DocumentUpload upload = new DocumentUpload(store, files, references, listener);
+        upload.run();
+        return upload;
+    }
+
+    private void run() {
+        List<CompletableFuture<StoredBlob>> copies = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            int index = i;
+            copies.add(CompletableFuture.supplyAsync(() -> copy(index), COPY_POOL));
+        }
+
+        CompletableFuture.allOf(copies.toArray(CompletableFuture<?>[]::new)).whenComplete((ignored, error) -> {
+            List<StoredBlob> blobs = new ArrayList<>();
+            for (CompletableFuture<StoredBlob> copy : copies) {
+                if (!copy.isCompletedExceptionally()) {
+                    blobs.add(copy.join());
+                }
+            }
+            if (error == null && !cancelled) {
+                result.complete(blobs);
+                return;
+            }
+            for (StoredBlob blob : blobs) {
+                store.discard(blob, references);
+            }
+            Throwable cause = failure.get();
+            result.completeExceptionally(cause != null ? cause : new CancellationException("Upload cancelled"));
+        });
+    }
+
+    private StoredBlob copy(int index) {
+        File file = files.get(index);
+        try {
+            StoredBlob blob = store.ingest(file.toPath(), bytes -> report(index, bytes), () -> cancelled);
+            report(index, sizes[index]);
+            return blob;
+        } catch (CancellationException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+            cancelled = true; // No point copying the rest
+            LOG.warn("Failed to copy " + file, e);
+            throw new CompletionException(e);
+        }
+    }
+
+    private void report(int index, long bytes) {
+        copied.set(index, bytes);
+        if (listener != null) {
+            listener.progressChanged(this);
+        }
+    }
+
+    // Stop outstanding copies; result() then fails with a CancellationException
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Blobs in the order the files were given; the caller must release or discard them
+    public CompletableFuture<List<StoredBlob>> result() {
+        return result;
+    }
+
+    public int getFileCount() { return files.size(); }
+    public File getFile(int index) { return files.get(index); }
+    public long getFileSize(int index) { return sizes[index]; }
+    public long getCopiedBytes(int index) { return copied.get(index); }
+    public long getTotalBytes() { return totalBytes; }
+
+    public long getCopiedBytes() {
+        long sum = 0;
+        for (int i = 0; i < copied.length(); i++) {
+            sum += copied.get(i);
+        }
+        return sum;
+    }
+}
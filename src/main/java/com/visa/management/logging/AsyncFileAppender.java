@@ -0,0 +1,221 @@
+package com.visa.management.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes log events to a rolling file from a single background thread.
+ * Callers only copy the event into a fixed-size ring buffer; when the buffer is full the
+ * event is dropped and counted rather than blocking the caller (usually the JavaFX thread).
+ * The file is rolled to name.1 .. name.N once it exceeds the size limit.
+ *
+ * Limits (system properties): visa.log.bufferSize (default 8192 events),
+ * visa.log.maxBytes (default 10 MB), visa.log.backups (default 5).
+ */
+final class AsyncFileAppender {
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final File file;
+    private final boolean console;
+    private final long maxBytes = Long.getLong("visa.log.maxBytes", 10L * 1024 * 1024);
+    private final int backups = Integer.getInteger("visa.log.backups", 5);
+
+    // Ring buffer guarded by lock
+    private final LogEvent[] ring;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int head;
+    private int size;
+    private long dropped;
+    private boolean closed;
+
+    private final Thread writerThread;
+    private OutputStream out;
+    // Bytes in the current file, compared against maxBytes
+    private long written;
+
+    AsyncFileAppender(String path, boolean console) {
+        this.file = new File(path);
+        this.console = console;
+        this.ring = new LogEvent[Math.max(16, Integer.getInteger("visa.log.bufferSize", 8192))];
+
+        writerThread = new Thread(this::drainLoop, "log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "log-flush"));
+    }
+
+    void append(LogEvent event) {
+        lock.lock();
+        try {
+            if (closed || size == ring.length) {
+                dropped++;
+                return;
+            }
+            ring[(head + size) % ring.length] = event;
+            size++;
+            if (size == 1) {
+                notEmpty.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Write out everything still buffered, then stop the writer thread
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        List<LogEvent> batch = new ArrayList<>();
+        while (true) {
+            long droppedSinceLast;
+            boolean stopping;
+            lock.lock();
+            try {
+                while (size == 0 && !closed) {
+                    notEmpty.awaitUninterruptibly();
+                }
+                for (; size > 0; size--) {
+                    batch.add(ring[head]);
+                    ring[head] = null;
+                    head = (head + 1) % ring.length;
+                }
+                droppedSinceLast = dropped;
+                dropped = 0;
+                stopping = closed;
+            } finally {
+                lock.unlock();
+            }
+
+            if (droppedSinceLast > 0) {
+                batch.add(new LogEvent(System.currentTimeMillis(), LogLevel.WARN, "Logger",
+                        Thread.currentThread().getName(), droppedSinceLast + " log event(s) dropped, buffer full", null));
+            }
+            write(batch);
+            batch.clear();
+
+            if (stopping) {
+                closeWriter();
+                return;
+            }
+        }
+    }
+
+    private void write(List<LogEvent> batch) {
+        StringBuilder text = new StringBuilder();
+        for (LogEvent event : batch) {
+            String line = format(event);
+            text.append(line);
+            if (console) {
+                (event.level.compareTo(LogLevel.WARN) >= 0 ? System.err : System.out).print(line);
+            }
+        }
+
+        try {
+            if (out == null) {
+                open();
+            }
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            out.write(bytes);
+            out.flush();
+            written += bytes.length;
+            if (written >= maxBytes) {
+                roll();
+            }
+        } catch (IOException e) {
+            // Keep the messages rather than losing them with the file
+            if (!console) {
+                System.err.print(text);
+            }
+            closeWriter();
+        }
+    }
+
+    private String format(LogEvent event) {
+        StringBuilder line = new StringBuilder(96 + event.message.length())
+                .append(TIMESTAMP.format(Instant.ofEpochMilli(event.timestamp)))
+                .append(' ').append(String.format("%-5s", event.level))
+                .append(" [").append(event.thread).append("] ")
+                .append(event.logger).append(" - ")
+                .append(event.message).append(System.lineSeparator());
+        if (event.error != null) {
+            StringWriter trace = new StringWriter();
+            event.error.printStackTrace(new PrintWriter(trace));
+            line.append(trace);
+        }
+        return line.toString();
+    }
+
+    private void open() throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (dir != null) {
+            Files.createDirectories(dir.toPath());
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        written = file.length();
+    }
+
+    // name.log -> name.log.1 -> ... -> name.log.N (oldest is discarded)
+    private void roll() throws IOException {
+        closeWriter();
+        for (int i = backups - 1; i >= 1; i--) {
+            File from = new File(file.getPath() + "." + i);
+            if (from.exists()) {
+                Files.move(from.toPath(), new File(file.getPath() + "." + (i + 1)).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (backups > 0) {
+            Files.move(file.toPath(), new File(file.getPath() + ".1").toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(file.toPath());
+        }
+        open();
+    }
+
+    private void closeWriter() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // Nothing left to report it to
+            }
+            out = null;
+        }
+    }
+}
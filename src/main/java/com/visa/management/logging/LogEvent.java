@@ -0,0 +1,22 @@
+package com.visa.management.logging;
+
+/**
+ * One captured log call. The message is already built; formatting to text happens on the appender thread.
+ */
+final class LogEvent {
+    final long timestamp;
+    final LogLevel level;
+    final String logger;
+    final String thread;
+    final String message;
+    final Throwable error;
+
+    LogEvent(long timestamp, LogLevel level, String logger, String thread, String message, Throwable error) {
+        this.timestamp = timestamp;
+        this.level = level;
+        this.logger = logger;
+        this.thread = thread;
+        this.message = message;
+        this.error = error;
+    }
+}
@@ -0,0 +1,20 @@
+package com.visa.management.logging;
+
+/**
+ * Log severities, lowest first.
+ */
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR;
+
+    // Unknown names fall back to INFO
+    static LogLevel parse(String name) {
+        if (name != null) {
+            for (LogLevel level : values()) {
+                if (level.name().equalsIgnoreCase(name.trim())) {
+                    return level;
+                }
+            }
+        }
+        return INFO;
+    }
+}
@@ -0,0 +1,96 @@
+package com.visa.management.logging;
+
+import java.io.File;
+import java.util.function.Supplier;
+
+/**
+ * Small leveled logging facade. Calls below the configured level cost one comparison;
+ * the Supplier overloads also skip building the message. Accepted events are handed
+ * to a shared AsyncFileAppender, so callers never wait on I/O.
+ *
+ * Configuration (system properties):
+ *   visa.log.level    TRACE, DEBUG, INFO (default), WARN or ERROR
+ *   visa.log.file     log file path (default logs/visa-management.log)
+ *   visa.log.console  also echo to the console (default false)
+ */
+public final class Logger {
+
+    private static final String LOG_FILE = System.getProperty("visa.log.file", "logs/visa-management.log");
+
+    private static volatile LogLevel threshold = LogLevel.parse(System.getProperty("visa.log.level", "INFO"));
+    private static volatile AsyncFileAppender appender;
+
+    private final String name;
+
+    private Logger(String name) {
+        this.name = name;
+    }
+
+    public static Logger get(Class<?> type) {
+        return new Logger(type.getSimpleName());
+    }
+
+    // Where errors end up, for pointing users at it
+    public static String getLogFile() {
+        return new File(LOG_FILE).getAbsolutePath();
+    }
+
+    public static void setLevel(LogLevel level) {
+        threshold = level;
+    }
+
+    // Flush pending events and stop the writer thread; later events are dropped
+    public static void shutdown() {
+        AsyncFileAppender current = appender;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public boolean isEnabled(LogLevel level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    public boolean isDebugEnabled() {
+        return isEnabled(LogLevel.DEBUG);
+    }
+
+    public void trace(Supplier<String> message) { log(LogLevel.TRACE, message, null); }
+    public void debug(Supplier<String> message) { log(LogLevel.DEBUG, message, null); }
+    public void info(Supplier<String> message) { log(LogLevel.INFO, message, null); }
+
+    public void debug(String message) { log(LogLevel.DEBUG, message, null); }
+    public void info(String message) { log(LogLevel.INFO, message, null); }
+    public void warn(String message) { log(LogLevel.WARN, message, null); }
+    public void warn(String message, Throwable error) { log(LogLevel.WARN, message, error); }
+    public void error(String message) { log(LogLevel.ERROR, message, null); }
+    public void error(String message, Throwable error) { log(LogLevel.ERROR, message, error); }
+
+    private void log(LogLevel level, Supplier<String> message, Throwable error) {
+        if (isEnabled(level)) {
+            log(level, message.get(), error);
+        }
+    }
+
+    private void log(LogLevel level, String message, Throwable error) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        appender().append(new LogEvent(System.currentTimeMillis(), level, name,
+                Thread.currentThread().getName(), message, error));
+    }
+
+    private static AsyncFileAppender appender() {
+        AsyncFileAppender current = appender;
+        if (current == null) {
+            synchronized (Logger.class) {
+                current = appender;
+                if (current == null) {
+                    current = new AsyncFileAppender(LOG_FILE, Boolean.getBoolean("visa.log.console"));
+                    appender = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,38 @@
+package com.visa.management.logging;
+
+/**
+ * Times the consecutive phases of a multi-step operation such as startup and logs them on one line,
+ * e.g. "Database startup 84.2 ms: pool 3.1, schema 70.5, services 10.6". Not thread-safe.
+ */
+public final class PhaseTimer {
+
+    private final Logger log;
+    private final String operation;
+    private final long started = System.nanoTime();
+    private final StringBuilder phases = new StringBuilder();
+    private long phaseStarted = started;
+
+    public PhaseTimer(Logger log, String operation) {
+        this.log = log;
+        this.operation = operation;
+    }
+
+    // End the current phase under the given name and start the next one
+    public void mark(String phase) {
+        long now = System.nanoTime();
+        phases.append(phases.length() == 0 ? "" : ", ")
+              .append(phase).append(' ').append(format(now - phaseStarted));
+        phaseStarted = now;
+    }
+
+    // Log the total and every phase marked so far
+    public void finish() {
+        String total = format(System.nanoTime() - started);
+        String detail = phases.toString();
+        log.info(() -> operation + " " + total + " ms" + (detail.isEmpty() ? "" : ": " + detail));
+    }
+
+    private static String format(long nanos) {
+        return String.format("%.1f", nanos / 1_000_000.0);
+    }
+}